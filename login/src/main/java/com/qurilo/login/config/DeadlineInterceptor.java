@@ -0,0 +1,56 @@
+package com.qurilo.login.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qurilo.login.dto.CustomApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Enforces the caller's deadline from the X-Request-Deadline header (epoch milliseconds).
+ * A request that only gets here after its caller has given up, e.g. after queueing behind
+ * other requests, is answered with 504 straight away instead of doing work nobody will read.
+ */
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadlineInterceptor.class);
+
+    private final ObjectMapper objectMapper;
+
+    public DeadlineInterceptor(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        String header = request.getHeader(DEADLINE_HEADER);
+        if (header == null) {
+            return true;
+        }
+        long deadline;
+        try {
+            deadline = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return true;
+        }
+        long overdueMillis = System.currentTimeMillis() - deadline;
+        if (overdueMillis < 0) {
+            return true;
+        }
+
+        logger.warn("Dropping {} {}: caller deadline passed {} ms ago", request.getMethod(), request.getRequestURI(),
+                overdueMillis);
+        response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                CustomApiResponse.error("Request deadline exceeded", HttpStatus.GATEWAY_TIMEOUT));
+        return false;
+    }
+}
\ No newline at end of file
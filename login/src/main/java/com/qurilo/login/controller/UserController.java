@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.qurilo.login.dto.CustomApiResponse;
+import com.qurilo.login.dto.UserBatchRequest;
 import com.qurilo.login.dto.UserRegistrationRequest;
 import com.qurilo.login.entity.Users;
 import com.qurilo.login.responses.UserResponse;
@@ -25,6 +26,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1")
 @Tag(name = "User Management", description = "APIs for user registration and management")
@@ -83,6 +86,17 @@ public class UserController {
 		return new ResponseEntity<>(response, response.getStatus());
 	}
 
+	@PostMapping("/users/batch")
+	@Operation(summary = "Get several users by ID", description = "Retrieves up to 200 users in one call. Unknown IDs are left out of the result.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+			@ApiResponse(responseCode = "400", description = "Bad request - Invalid user IDs"),
+			@ApiResponse(responseCode = "500", description = "Internal server error") })
+	public ResponseEntity<CustomApiResponse<List<UserResponse>>> getUsersByIds(
+			@Valid @RequestBody UserBatchRequest request) {
+		CustomApiResponse<List<UserResponse>> response = userService.getUsersByIds(request.getUserIds());
+		return new ResponseEntity<>(response, response.getStatus());
+	}
+
 	@GetMapping("/{userId}")
 	@Operation(summary = "Get user by ID", description = "Retrieves user details using the provided user ID. Returns user information if found.")
 	@ApiResponses(value = {
@@ -0,0 +1,39 @@
+package com.qurilo.login.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class UserBatchRequest {
+
+    public static final int MAX_BATCH_SIZE = 200;
+
+    // User IDs are generated from 1, so a non-positive one is a client bug rather than a miss.
+    @NotEmpty(message = "At least one user ID is required")
+    @Size(max = MAX_BATCH_SIZE, message = "At most " + MAX_BATCH_SIZE + " user IDs can be requested at once")
+    private List<@NotNull @Positive Long> userIds;
+
+    public UserBatchRequest() {}
+
+    public UserBatchRequest(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    @Override
+    public String toString() {
+        return "UserBatchRequest{" +
+                "userIds=" + userIds +
+                '}';
+    }
+}
\ No newline at end of file
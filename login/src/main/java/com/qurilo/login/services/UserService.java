@@ -14,6 +14,10 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 @Service
 public class UserService {
 	@Autowired
@@ -81,4 +85,21 @@ public class UserService {
 		return CustomApiResponse.ok("User found successfully", response);
 	}
 
+	@Transactional(readOnly = true)
+	public CustomApiResponse<List<UserResponse>> getUsersByIds(List<Long> userIds) {
+		Set<Long> distinctIds = new LinkedHashSet<>(userIds);
+		List<UserResponse> responses = usersRepository.findAllById(distinctIds).stream().map(user -> {
+			UserResponse response = new UserResponse();
+			response.setEmail(user.getEmail());
+			response.setId(user.getId());
+			response.setUsername(user.getUsername());
+			response.setLastName(user.getLastName());
+			response.setFirstName(user.getFirstName());
+			response.setCreatedAt(com.qurilo.login.utils.UtilityMethods.dateFormater(user.getCreatedAt()));
+			response.setUpdatedAt(com.qurilo.login.utils.UtilityMethods.dateFormater(user.getUpdatedAt()));
+			return response;
+		}).toList();
+		return CustomApiResponse.ok("Users retrieved successfully", responses);
+	}
+
 }
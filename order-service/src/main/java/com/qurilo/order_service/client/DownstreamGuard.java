@@ -0,0 +1,106 @@
+package com.qurilo.order_service.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import com.qurilo.order_service.exception.DeadlineExceededException;
+import com.qurilo.order_service.exception.DownstreamUnavailableException;
+import com.qurilo.order_service.utils.Deadline;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs calls to one downstream service through its bulkhead and circuit breaker. The
+ * bulkhead is checked first so callers shed by it don't count as breaker failures. When a
+ * call is refused, or the request's deadline has already passed, a
+ * {@link DownstreamUnavailableException} is thrown without touching the network and the
+ * refusal is counted in orders.downstream.rejected.
+ */
+public class DownstreamGuard {
+
+	private final String name;
+	private final CircuitBreaker circuitBreaker;
+	private final Bulkhead bulkhead;
+	private final Counter circuitOpenRejections;
+	private final Counter bulkheadFullRejections;
+	private final Counter deadlineExceededRejections;
+
+	public DownstreamGuard(String name, CircuitBreaker circuitBreaker, Bulkhead bulkhead, MeterRegistry meterRegistry) {
+		this.name = name;
+		this.circuitBreaker = circuitBreaker;
+		this.bulkhead = bulkhead;
+		this.circuitOpenRejections = rejectionCounter(meterRegistry, "circuit_open");
+		this.bulkheadFullRejections = rejectionCounter(meterRegistry, "bulkhead_full");
+		this.deadlineExceededRejections = rejectionCounter(meterRegistry, "deadline_exceeded");
+	}
+
+	public <T> T call(Supplier<T> call) {
+		checkDeadline();
+		try {
+			return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, call)).get();
+		} catch (CallNotPermittedException e) {
+			circuitOpenRejections.increment();
+			throw new DownstreamUnavailableException(name, name + " circuit is open", e);
+		} catch (BulkheadFullException e) {
+			bulkheadFullRejections.increment();
+			throw new DownstreamUnavailableException(name, name + " is at its concurrency limit", e);
+		}
+	}
+
+	/**
+	 * Non-blocking variant of {@link #call}: the permits are released when the returned stage
+	 * completes, and a refused call comes back as a future failed with
+	 * {@link DownstreamUnavailableException}.
+	 */
+	public <T> CompletableFuture<T> callAsync(Supplier<CompletionStage<T>> call) {
+		try {
+			checkDeadline();
+			return Bulkhead.decorateCompletionStage(bulkhead,
+					CircuitBreaker.decorateCompletionStage(circuitBreaker, call)).get().toCompletableFuture()
+					.exceptionallyCompose(error -> CompletableFuture.failedFuture(translate(error)));
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(translate(e));
+		}
+	}
+
+	// A caller that has already given up doesn't need the call; skip it before it takes a permit.
+	private void checkDeadline() {
+		Deadline deadline = Deadline.current();
+		if (deadline != null && deadline.isExpired()) {
+			deadlineExceededRejections.increment();
+			throw new DeadlineExceededException(name);
+		}
+	}
+
+	private Throwable translate(Throwable error) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		if (cause instanceof CallNotPermittedException) {
+			circuitOpenRejections.increment();
+			return new DownstreamUnavailableException(name, name + " circuit is open", cause);
+		}
+		if (cause instanceof BulkheadFullException) {
+			bulkheadFullRejections.increment();
+			return new DownstreamUnavailableException(name, name + " is at its concurrency limit", cause);
+		}
+		return cause;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	private Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+		return Counter.builder("orders.downstream.rejected")
+				.description("Calls refused without reaching the downstream service")
+				.tag("downstream", name)
+				.tag("reason", reason)
+				.register(meterRegistry);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.qurilo.order_service.client;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.qurilo.order_service.exception.DownstreamUnavailableException;
+import com.qurilo.order_service.utils.Deadline;
+import com.qurilo.order_service.utils.RequestBudget;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Retries idempotent reads to one downstream service after transient failures: I/O errors
+ * and 502/503/504 responses. Waits between attempts grow exponentially with full jitter so
+ * retrying callers don't arrive in lockstep, and every retry spends a token from a
+ * {@link RequestBudget}: while the service is healthy retries are free to smooth over a
+ * dropped connection, but when it is failing broadly the budget runs dry and callers fail
+ * fast instead of multiplying its load.
+ *
+ * Calls refused by the {@link DownstreamGuard} (open circuit, full bulkhead, passed
+ * deadline) and 4xx responses are never retried. Each attempt should go through the guard
+ * so the breaker sees every one of them.
+ */
+public class DownstreamRetry {
+
+	private final int maxAttempts;
+	private final Duration initialBackoff;
+	private final Duration maxBackoff;
+	private final RequestBudget budget;
+	private final Counter retried;
+	private final Counter recovered;
+	private final Counter exhausted;
+	private final Counter overBudget;
+
+	public DownstreamRetry(String downstream, int maxAttempts, Duration initialBackoff, Duration maxBackoff,
+			RequestBudget budget, MeterRegistry meterRegistry) {
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = maxBackoff;
+		this.budget = budget;
+		this.retried = retryCounter(meterRegistry, downstream, "retried");
+		this.recovered = retryCounter(meterRegistry, downstream, "recovered");
+		this.exhausted = retryCounter(meterRegistry, downstream, "exhausted");
+		this.overBudget = retryCounter(meterRegistry, downstream, "over_budget");
+	}
+
+	public <T> T execute(Supplier<T> call) {
+		budget.onRequest();
+		for (int attempt = 1;; attempt++) {
+			try {
+				T result = call.get();
+				if (attempt > 1) {
+					recovered.increment();
+				}
+				return result;
+			} catch (RuntimeException e) {
+				if (!isTransient(e)) {
+					throw e;
+				}
+				if (attempt >= maxAttempts) {
+					exhausted.increment();
+					throw e;
+				}
+				Duration backoff = backoff(attempt);
+				// Not worth waiting if the caller will have given up by the time we'd retry.
+				Deadline deadline = Deadline.current();
+				if (deadline != null && deadline.remaining().compareTo(backoff) <= 0) {
+					throw e;
+				}
+				if (!budget.tryAcquire()) {
+					overBudget.increment();
+					throw e;
+				}
+				try {
+					Thread.sleep(backoff);
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					throw e;
+				}
+				retried.increment();
+			}
+		}
+	}
+
+	// Full jitter: a uniform wait in [0, min(maxBackoff, initialBackoff * 2^(attempt - 1))].
+	private Duration backoff(int attempt) {
+		long ceiling = initialBackoff.toNanos() << Math.min(attempt - 1, 20);
+		ceiling = Math.min(maxBackoff.toNanos(), ceiling);
+		return Duration.ofNanos(ThreadLocalRandom.current().nextLong(ceiling + 1));
+	}
+
+	private static boolean isTransient(RuntimeException e) {
+		if (e instanceof DownstreamUnavailableException) {
+			return false;
+		}
+		if (e instanceof ResourceAccessException) {
+			return true;
+		}
+		if (e instanceof HttpServerErrorException serverError) {
+			int status = serverError.getStatusCode().value();
+			return status == 502 || status == 503 || status == 504;
+		}
+		return false;
+	}
+
+	private static Counter retryCounter(MeterRegistry meterRegistry, String downstream, String outcome) {
+		return Counter.builder("orders.downstream.retries")
+				.description("Retries of idempotent reads by outcome")
+				.tag("downstream", downstream)
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.qurilo.order_service.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.qurilo.order_service.config.HttpClientProperties;
+import com.qurilo.order_service.config.RestTemplateConfig;
+import com.qurilo.order_service.utils.Deadline;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Non-blocking HTTP calls to the product and user services on the JDK HttpClient. No thread
+ * waits while a request is in flight; the returned future completes on the client's own
+ * threads. Failures mirror RestTemplate so the same breaker rules and error mapping apply:
+ * 4xx as {@link HttpClientErrorException}, 5xx as {@link HttpServerErrorException} and I/O
+ * errors as {@link ResourceAccessException}.
+ */
+@Component
+public class InterServiceHttpClient {
+
+	private static final String SMILE = "application/x-jackson-smile";
+
+	@Autowired
+	private HttpClient asyncHttpClient;
+
+	@Autowired
+	private HttpClientProperties properties;
+
+	private final ObjectMapper jsonMapper = RestTemplateConfig.interServiceObjectMapper();
+
+	private ObjectMapper smileMapper;
+
+	private String accept;
+
+	@PostConstruct
+	public void init() {
+		smileMapper = jsonMapper.copyWith(new SmileFactory());
+		accept = properties.isSmile() ? SMILE + ", " + MediaType.APPLICATION_JSON_VALUE : MediaType.APPLICATION_JSON_VALUE;
+	}
+
+	public <T> CompletableFuture<T> get(String url, JavaType responseType) {
+		return send(request(url).GET().build(), responseType);
+	}
+
+	public <T> CompletableFuture<T> post(String url, Object body, JavaType responseType) {
+		HttpRequest.Builder request = request(url);
+		if (body == null) {
+			request.POST(HttpRequest.BodyPublishers.noBody());
+		} else {
+			ObjectMapper writer = properties.isSmile() ? smileMapper : jsonMapper;
+			try {
+				request.header(HttpHeaders.CONTENT_TYPE, properties.isSmile() ? SMILE : MediaType.APPLICATION_JSON_VALUE)
+						.POST(HttpRequest.BodyPublishers.ofByteArray(writer.writeValueAsBytes(body)));
+			} catch (IOException e) {
+				return CompletableFuture.failedFuture(e);
+			}
+		}
+		return send(request.build(), responseType);
+	}
+
+	public TypeFactory typeFactory() {
+		return jsonMapper.getTypeFactory();
+	}
+
+	private HttpRequest.Builder request(String url) {
+		Duration timeout = Deadline.cap(properties.getResponseTimeout());
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+				.timeout(timeout.isZero() ? Duration.ofMillis(1) : timeout).header(HttpHeaders.ACCEPT, accept);
+		Deadline deadline = Deadline.toAdvertise();
+		if (deadline != null) {
+			request.header(Deadline.HEADER, Long.toString(deadline.epochMillis()));
+		}
+		return request;
+	}
+
+	private <T> CompletableFuture<T> send(HttpRequest request, JavaType responseType) {
+		return asyncHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+				.handle((response, error) -> {
+					if (error != null) {
+						throw toResourceAccessException(request, error);
+					}
+					return decode(response, responseType);
+				});
+	}
+
+	private <T> T decode(HttpResponse<byte[]> response, JavaType responseType) {
+		HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+		if (status.is4xxClientError()) {
+			throw HttpClientErrorException.create(status, "", null, response.body(), null);
+		}
+		if (!status.is2xxSuccessful()) {
+			throw HttpServerErrorException.create(status, "", null, response.body(), null);
+		}
+		boolean smile = response.headers().firstValue(HttpHeaders.CONTENT_TYPE).filter(type -> type.startsWith(SMILE))
+				.isPresent();
+		try {
+			return (smile ? smileMapper : jsonMapper).readValue(response.body(), responseType);
+		} catch (IOException e) {
+			throw new CompletionException(
+					new ResourceAccessException("Unreadable response from " + response.uri() + ": " + e.getMessage()));
+		}
+	}
+
+	private static RuntimeException toResourceAccessException(HttpRequest request, Throwable error) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		String message = cause instanceof HttpTimeoutException ? "Timed out calling " : "I/O error calling ";
+		return new CompletionException(new ResourceAccessException(message + request.uri() + ": " + cause.getMessage(),
+				cause instanceof IOException ioException ? ioException : null));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.qurilo.order_service.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.qurilo.order_service.config.CacheConfig;
+import com.qurilo.order_service.config.TwoLevelCache;
+import com.qurilo.order_service.config.TwoLevelCacheManager;
+import com.qurilo.order_service.dto.CustomApiResponse;
+import com.qurilo.order_service.dto.ProductResponse;
+import com.qurilo.order_service.exception.DownstreamUnavailableException;
+import com.qurilo.order_service.utils.Deadline;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Non-blocking counterpart of {@link ProductServiceClient} for the async order path. Lookups
+ * share the "products" cache and every call goes through the same circuit breaker and
+ * bulkhead; failures come back as unsuccessful responses, never as failed futures. Only the
+ * local cache is read inline; Redis is read and written on the cache executor.
+ */
+@Component
+public class ProductServiceAsyncClient {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProductServiceAsyncClient.class);
+
+	@Autowired
+	private InterServiceHttpClient httpClient;
+
+	@Autowired
+	@Qualifier("productServiceGuard")
+	private DownstreamGuard productServiceGuard;
+
+	@Autowired
+	private TwoLevelCacheManager cacheManager;
+
+	@Autowired
+	@Qualifier("cacheExecutor")
+	private Executor cacheExecutor;
+
+	@Value("${orders.services.product.base-url:http://localhost:8080/api/v1/products}")
+	private String productServiceBaseUrl;
+
+	private TwoLevelCache productCache;
+
+	private JavaType productType;
+
+	private JavaType productResponseType;
+
+	@PostConstruct
+	public void init() {
+		productCache = cacheManager.getCache(CacheConfig.PRODUCTS);
+		productType = httpClient.typeFactory().constructType(ProductResponse.class);
+		productResponseType = httpClient.typeFactory().constructParametricType(CustomApiResponse.class,
+				ProductResponse.class);
+	}
+
+	@SuppressWarnings("unchecked")
+	public CompletableFuture<CustomApiResponse<ProductResponse>> getProductById(String productId) {
+		return productCache.getAsync(productId, cacheExecutor).thenCompose(cached -> {
+			if (cached != null && cached.get() != null) {
+				return CompletableFuture.completedFuture((CustomApiResponse<ProductResponse>) cached.get());
+			}
+			return fetchProduct(productId);
+		});
+	}
+
+	private CompletableFuture<CustomApiResponse<ProductResponse>> fetchProduct(String productId) {
+		String url = productServiceBaseUrl + "/" + productId;
+		return productServiceGuard.<ProductResponse>callAsync(() -> httpClient.get(url, productType))
+				.thenApply(product -> {
+					CustomApiResponse<ProductResponse> response = new CustomApiResponse<>(true,
+							"Product retrieved successfully", product, HttpStatus.OK);
+					productCache.putAsync(productId, response, cacheExecutor);
+					return response;
+				}).exceptionally(error -> failure(error, "fetching product " + productId));
+	}
+
+	public CompletableFuture<CustomApiResponse<ProductResponse>> reserveProductStock(String productId, Integer quantity) {
+		String url = productServiceBaseUrl + "/" + productId + "/reservations?quantity=" + quantity;
+		return post(url, "reserving stock for product " + productId);
+	}
+
+	// Releases run with no deadline and skip the breaker and bulkhead, which would otherwise
+	// refuse them exactly when product-service is struggling and leak the reservation.
+	public CompletableFuture<CustomApiResponse<ProductResponse>> releaseProductStock(String productId, Integer quantity) {
+		String url = productServiceBaseUrl + "/" + productId + "/reservations/release?quantity=" + quantity;
+		return withOkStatus(Deadline.ignoring(() -> httpClient.post(url, null, productResponseType)),
+				"releasing stock for product " + productId);
+	}
+
+	// Reservations are refused up front once the caller's deadline has passed, but once sent
+	// they get the full response timeout, so a reservation that commits is never abandoned.
+	// The deadline still goes out in the header.
+	private CompletableFuture<CustomApiResponse<ProductResponse>> post(String url, String operation) {
+		return withOkStatus(productServiceGuard.<CustomApiResponse<ProductResponse>>callAsync(
+				() -> Deadline.advertisedOnly(() -> httpClient.post(url, null, productResponseType))), operation);
+	}
+
+	private static CompletableFuture<CustomApiResponse<ProductResponse>> withOkStatus(
+			CompletableFuture<CustomApiResponse<ProductResponse>> call, String operation) {
+		return call.thenApply(response -> {
+			response.setStatus(HttpStatus.OK);
+			return response;
+		}).exceptionally(error -> failure(error, operation));
+	}
+
+	private static CustomApiResponse<ProductResponse> failure(Throwable error, String operation) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		if (cause instanceof HttpClientErrorException.NotFound) {
+			return CustomApiResponse.notFound("Product not found");
+		}
+		if (cause instanceof HttpClientErrorException.Conflict) {
+			return CustomApiResponse.conflict("Insufficient stock");
+		}
+		if (cause instanceof HttpClientErrorException.BadRequest) {
+			return CustomApiResponse.badRequest("Invalid product request");
+		}
+		if (cause instanceof DownstreamUnavailableException refused) {
+			logger.warn("Call to {} refused: {}", refused.getDownstream(), refused.getMessage());
+			return CustomApiResponse.error(refused.getMessage(), refused.getStatus());
+		}
+		if (cause instanceof ResourceAccessException) {
+			logger.error("Product Service unavailable while {}: {}", operation, cause.getMessage());
+			return CustomApiResponse.error("Product Service unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+		}
+		logger.error("Error {}: {}", operation, cause.getMessage(), cause);
+		return CustomApiResponse.internalError("Error calling Product Service");
+	}
+}
\ No newline at end of file
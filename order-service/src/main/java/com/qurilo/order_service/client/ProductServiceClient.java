@@ -3,8 +3,12 @@ package com.qurilo.order_service.client;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -12,8 +16,33 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import com.qurilo.order_service.config.ResilienceConfig;
 import com.qurilo.order_service.dto.CustomApiResponse;
+import com.qurilo.order_service.dto.ProductBatchRequest;
 import com.qurilo.order_service.dto.ProductResponse;
+import com.qurilo.order_service.dto.StockReservationRequest;
+import com.qurilo.order_service.exception.DownstreamUnavailableException;
+import com.qurilo.order_service.utils.Deadline;
+import com.qurilo.order_service.utils.MicroBatcher;
+import com.qurilo.order_service.utils.RequestBudget;
+import com.qurilo.order_service.utils.SingleFlight;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 @Component
 public class ProductServiceClient {
@@ -23,15 +52,208 @@ public class ProductServiceClient {
 	@Autowired
 	private RestTemplate restTemplate;
 
-	private static final String PRODUCT_SERVICE_BASE_URL = "http://localhost:8080/api/v1/products";
+	@Value("${orders.services.product.base-url:http://localhost:8080/api/v1/products}")
+	private String productServiceBaseUrl;
+
+	@Value("${orders.services.product.coalesce-wait:5s}")
+	private Duration coalesceWait;
+
+	@Value("${orders.services.product.batch.enabled:true}")
+	private boolean batchLookups;
+
+	@Value("${orders.services.product.batch.window:5ms}")
+	private Duration batchWindow;
+
+	@Value("${orders.services.product.batch.max-size:100}")
+	private int maxBatchSize;
+
+	@Autowired
+	@Qualifier("productBatchExecutor")
+	private Executor productBatchExecutor;
+
+	@Autowired
+	@Qualifier("productServiceGuard")
+	private DownstreamGuard productServiceGuard;
+
+	@Autowired
+	@Qualifier("productServiceRetry")
+	private DownstreamRetry productServiceRetry;
+
+	@Value("${orders.services.product.hedge.enabled:false}")
+	private boolean hedgeReads;
+
+	// Other product-service instances to send hedges to; when empty, hedges go to the base URL
+	// on a separate pooled connection and let the load balancer pick the instance.
+	@Value("${orders.services.product.hedge.base-urls:}")
+	private List<String> hedgeBaseUrls;
+
+	@Value("${orders.services.product.hedge.percentile:0.95}")
+	private double hedgePercentile;
 
+	@Value("${orders.services.product.hedge.min-delay:20ms}")
+	private Duration hedgeMinDelay;
+
+	@Value("${orders.services.product.hedge.max-delay:500ms}")
+	private Duration hedgeMaxDelay;
+
+	@Value("${orders.services.product.hedge.budget-ratio:0.1}")
+	private double hedgeBudgetRatio;
+
+	@Autowired
+	@Qualifier("productHedgeExecutor")
+	private Executor productHedgeExecutor;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final SingleFlight<String, CustomApiResponse<ProductResponse>> productLookups = new SingleFlight<>();
+
+	private MicroBatcher<String, CustomApiResponse<ProductResponse>> productBatcher;
+
+	private RequestHedger readHedger;
+
+	private final AtomicInteger nextHedgeBaseUrl = new AtomicInteger();
+
+	@PostConstruct
+	public void init() {
+		productBatcher = new MicroBatcher<>("product-lookup", batchWindow, maxBatchSize, this::fetchProducts,
+				productBatchExecutor);
+		if (hedgeReads) {
+			readHedger = new RequestHedger(ResilienceConfig.PRODUCT_SERVICE, hedgePercentile, hedgeMinDelay,
+					hedgeMaxDelay, new RequestBudget(hedgeBudgetRatio, 10), productHedgeExecutor, meterRegistry);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		productBatcher.close();
+	}
+
+	/**
+	 * Cache misses for the same product are coalesced: while one lookup is in flight,
+	 * concurrent callers wait for and share its result instead of each calling product-service.
+	 * Lookups of different products arriving within the batch window go out as one
+	 * /batch request.
+	 */
 	@Cacheable(value = "products", key = "#productId", unless = "#result == null || !#result.isSuccess()")
 	public CustomApiResponse<ProductResponse> getProductById(String productId) {
 		try {
-			String url = PRODUCT_SERVICE_BASE_URL + "/" + productId;
+			return productLookups.execute(productId, Deadline.cap(coalesceWait),
+					() -> batchLookups ? loadBatched(productId) : fetchProduct(productId));
+		} catch (TimeoutException e) {
+			logger.error("Timed out after {} waiting for in-flight lookup of product: {}", coalesceWait, productId);
+			return new CustomApiResponse<ProductResponse>(false, "Product Service timed out", null,
+					HttpStatus.GATEWAY_TIMEOUT);
+		}
+	}
+
+	/**
+	 * Sends an idempotent read to product-service, hedged when enabled and retried after
+	 * transient failures. The request is built from a base URL so the hedge can go to a
+	 * different instance.
+	 */
+	private <T> T read(Function<String, T> request) {
+		if (readHedger == null) {
+			return productServiceRetry.execute(() -> productServiceGuard.call(() -> request.apply(productServiceBaseUrl)));
+		}
+		return productServiceRetry.execute(() -> readHedger.execute(
+				() -> productServiceGuard.call(() -> request.apply(productServiceBaseUrl)),
+				() -> productServiceGuard.call(() -> request.apply(hedgeBaseUrl()))));
+	}
+
+	private String hedgeBaseUrl() {
+		if (hedgeBaseUrls.isEmpty()) {
+			return productServiceBaseUrl;
+		}
+		return hedgeBaseUrls.get(Math.floorMod(nextHedgeBaseUrl.getAndIncrement(), hedgeBaseUrls.size()));
+	}
+
+	private CustomApiResponse<ProductResponse> loadBatched(String productId) {
+		try {
+			CustomApiResponse<ProductResponse> response = productBatcher.load(productId)
+					.get(Deadline.cap(coalesceWait).toNanos(), TimeUnit.NANOSECONDS);
+			return response != null ? response
+					: new CustomApiResponse<ProductResponse>(false, "Product not found", null, HttpStatus.NOT_FOUND);
+		} catch (TimeoutException e) {
+			logger.error("Timed out after {} waiting for batched lookup of product: {}", coalesceWait, productId);
+			return new CustomApiResponse<ProductResponse>(false, "Product Service timed out", null,
+					HttpStatus.GATEWAY_TIMEOUT);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return new CustomApiResponse<ProductResponse>(false, "Error fetching product", null,
+					HttpStatus.INTERNAL_SERVER_ERROR);
+		} catch (ExecutionException e) {
+			logger.error("Error fetching product {}: {}", productId, e.getCause().getMessage(), e.getCause());
+			return new CustomApiResponse<ProductResponse>(false, "Error fetching product", null,
+					HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Loader for the product batcher. The batch call goes through {@link #read}, so it is
+	 * retried and hedged like a single lookup. product-service leaves unknown IDs out of its
+	 * answer; they get a 404 here so each caller sees what a single lookup would have said.
+	 */
+	private Map<String, CustomApiResponse<ProductResponse>> fetchProducts(Set<String> productIds) {
+		CustomApiResponse<List<ProductResponse>> batchResponse = fetchProductBatch(productIds);
+		Map<String, CustomApiResponse<ProductResponse>> results = new HashMap<>();
+		if (!batchResponse.isSuccess() || batchResponse.getData() == null) {
+			productIds.forEach(productId -> results.put(productId, new CustomApiResponse<ProductResponse>(false,
+					batchResponse.getMessage(), null, batchResponse.getStatus())));
+			return results;
+		}
+
+		for (ProductResponse product : batchResponse.getData()) {
+			results.put(product.getId(), new CustomApiResponse<ProductResponse>(true, "Product retrieved successfully",
+					product, HttpStatus.OK));
+		}
+		for (String productId : productIds) {
+			results.computeIfAbsent(productId,
+					id -> new CustomApiResponse<ProductResponse>(false, "Product not found", null, HttpStatus.NOT_FOUND));
+		}
+		return results;
+	}
+
+	private CustomApiResponse<List<ProductResponse>> fetchProductBatch(Set<String> productIds) {
+		try {
+			logger.info("Fetching {} products from Product Service in one batch", productIds.size());
+
+			HttpEntity<ProductBatchRequest> request = new HttpEntity<>(new ProductBatchRequest(new ArrayList<>(productIds)));
+			ResponseEntity<CustomApiResponse<List<ProductResponse>>> response = read(baseUrl -> restTemplate.exchange(
+					baseUrl + "/batch", HttpMethod.POST, request,
+					new ParameterizedTypeReference<CustomApiResponse<List<ProductResponse>>>() {
+					}));
+
+			if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+				CustomApiResponse<List<ProductResponse>> batchResponse = response.getBody();
+				batchResponse.setStatus(HttpStatus.OK);
+				return batchResponse;
+			}
+			logger.error("Failed to fetch product batch: {}", productIds);
+			return CustomApiResponse.error("Error fetching products", HttpStatus.INTERNAL_SERVER_ERROR);
+
+		} catch (HttpClientErrorException.BadRequest e) {
+			logger.error("Bad request for product batch: {}", productIds);
+			return CustomApiResponse.error("Invalid product ID", HttpStatus.BAD_REQUEST);
+		} catch (DownstreamUnavailableException e) {
+			logger.warn("Call to {} refused: {}", e.getDownstream(), e.getMessage());
+			return CustomApiResponse.error(e.getMessage(), e.getStatus());
+		} catch (ResourceAccessException e) {
+			logger.error("Product Service unavailable: {}", e.getMessage());
+			return CustomApiResponse.error("Product Service unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+		} catch (Exception e) {
+			logger.error("Error fetching product batch {}: {}", productIds, e.getMessage(), e);
+			return CustomApiResponse.error("Error fetching products", HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	private CustomApiResponse<ProductResponse> fetchProduct(String productId) {
+		try {
+			String url = productServiceBaseUrl + "/" + productId;
 			logger.info("Fetching product from Product Service: {}", url);
 
-			ResponseEntity<ProductResponse> response = restTemplate.getForEntity(url, ProductResponse.class);
+			ResponseEntity<ProductResponse> response = read(
+					baseUrl -> restTemplate.getForEntity(baseUrl + "/" + productId, ProductResponse.class));
 
 			if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
 				logger.info("Successfully retrieved product: {}", productId);
@@ -49,6 +271,9 @@ public class ProductServiceClient {
 		} catch (HttpClientErrorException.BadRequest e) {
 			logger.error("Bad request for product: {}", productId);
 			return new CustomApiResponse<ProductResponse>(false, "Invalid product ID", null, HttpStatus.BAD_REQUEST);
+		} catch (DownstreamUnavailableException e) {
+			logger.warn("Call to {} refused: {}", e.getDownstream(), e.getMessage());
+			return CustomApiResponse.error(e.getMessage(), e.getStatus());
 		} catch (ResourceAccessException e) {
 			logger.error("Product Service unavailable: {}", e.getMessage());
 			return new CustomApiResponse<ProductResponse>(false, "Product Service unavailable", null,
@@ -62,10 +287,10 @@ public class ProductServiceClient {
 
 	public Boolean checkProductStock(String productId, Integer requiredQuantity) {
 		try {
-			String url = PRODUCT_SERVICE_BASE_URL + "/" + productId + "/check-stock?requiredQuantity=" + requiredQuantity;
 			logger.info("Checking stock for product: {} with required quantity: {}", productId, requiredQuantity);
 
-			ResponseEntity<Boolean> response = restTemplate.getForEntity(url, Boolean.class);
+			ResponseEntity<Boolean> response = read(baseUrl -> restTemplate.getForEntity(
+					baseUrl + "/" + productId + "/check-stock?requiredQuantity=" + requiredQuantity, Boolean.class));
 
 			if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
 				logger.info("Stock check completed for product: {}, result: {}", productId, response.getBody());
@@ -81,6 +306,9 @@ public class ProductServiceClient {
 		} catch (HttpClientErrorException.BadRequest e) {
 			logger.error("Bad request for stock check: {}", productId);
 			return false;
+		} catch (DownstreamUnavailableException e) {
+			logger.warn("Skipped stock check for product {}: {}", productId, e.getMessage());
+			return false;
 		} catch (ResourceAccessException e) {
 			logger.error("Product Service unavailable for stock check: {}", e.getMessage());
 			return false;
@@ -90,36 +318,172 @@ public class ProductServiceClient {
 		}
 	}
 
-	public CustomApiResponse<ProductResponse> updateProductStock(String productId, Integer newStockQuantity) {
+	/**
+	 * Reservations are refused up front once the caller's deadline has passed, but a
+	 * reservation that was sent is not cut short by it: product-service could still commit
+	 * one we had timed out on, and nothing would release it. It gets the full response
+	 * timeout instead, and the deadline only travels in the header so product-service can
+	 * refuse a reservation that reaches it too late.
+	 */
+	public CustomApiResponse<ProductResponse> reserveProductStock(String productId, Integer quantity) {
 		try {
-			String url = PRODUCT_SERVICE_BASE_URL + "/" + productId + "/stock?stockQuantity=" + newStockQuantity;
-			logger.info("Updating product stock: {} to quantity: {}", productId, newStockQuantity);
+			String url = productServiceBaseUrl + "/" + productId + "/reservations?quantity=" + quantity;
+			logger.info("Reserving {} units of product: {}", quantity, productId);
 
-			ResponseEntity<CustomApiResponse<ProductResponse>> response = restTemplate.exchange(url,
-					org.springframework.http.HttpMethod.PUT, null,
+			ResponseEntity<CustomApiResponse<ProductResponse>> response = productServiceGuard.call(
+					() -> Deadline.advertisedOnly(() -> restTemplate.exchange(url,
+					org.springframework.http.HttpMethod.POST, null,
 					new ParameterizedTypeReference<CustomApiResponse<ProductResponse>>() {
-					});
+					})));
 
 			if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-				logger.info("Successfully updated product stock: {}", productId);
-				return response.getBody();
+				CustomApiResponse<ProductResponse> reservation = response.getBody();
+				reservation.setStatus(HttpStatus.OK);
+				logger.info("Successfully reserved stock for product: {}", productId);
+				return reservation;
+			} else {
+				logger.error("Failed to reserve stock for product: {}", productId);
+				return CustomApiResponse.error("Failed to reserve product stock", HttpStatus.INTERNAL_SERVER_ERROR);
+			}
+
+		} catch (HttpClientErrorException.Conflict e) {
+			logger.warn("Insufficient stock to reserve {} units of product: {}", quantity, productId);
+			return CustomApiResponse.error("Insufficient stock", HttpStatus.CONFLICT);
+		} catch (HttpClientErrorException.NotFound e) {
+			logger.error("Product not found for stock reservation: {}", productId);
+			return CustomApiResponse.error("Product not found", HttpStatus.NOT_FOUND);
+		} catch (HttpClientErrorException.BadRequest e) {
+			logger.error("Bad request for stock reservation: {}", productId);
+			return CustomApiResponse.error("Invalid reservation quantity", HttpStatus.BAD_REQUEST);
+		} catch (DownstreamUnavailableException e) {
+			logger.warn("Call to {} refused: {}", e.getDownstream(), e.getMessage());
+			return CustomApiResponse.error(e.getMessage(), e.getStatus());
+		} catch (ResourceAccessException e) {
+			logger.error("Product Service unavailable for stock reservation: {}", e.getMessage());
+			return CustomApiResponse.error("Product Service unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+		} catch (Exception e) {
+			logger.error("Error reserving product stock {}: {}", productId, e.getMessage());
+			return CustomApiResponse.error("Error reserving product stock", HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Releases bypass the breaker and bulkhead: a release is what lets product-service recover
+	 * stock, so refusing it while product-service struggles would only leak the reservation.
+	 */
+	public CustomApiResponse<ProductResponse> releaseProductStock(String productId, Integer quantity) {
+		try {
+			String url = productServiceBaseUrl + "/" + productId + "/reservations/release?quantity=" + quantity;
+			logger.info("Releasing {} reserved units of product: {}", quantity, productId);
+
+			ResponseEntity<CustomApiResponse<ProductResponse>> response = Deadline.ignoring(
+					() -> restTemplate.exchange(url, org.springframework.http.HttpMethod.POST, null,
+					new ParameterizedTypeReference<CustomApiResponse<ProductResponse>>() {
+					}));
+
+			if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+				CustomApiResponse<ProductResponse> release = response.getBody();
+				release.setStatus(HttpStatus.OK);
+				logger.info("Successfully released stock for product: {}", productId);
+				return release;
 			} else {
-				logger.error("Failed to update product stock: {}", productId);
-				return CustomApiResponse.error("Failed to update product stock", HttpStatus.INTERNAL_SERVER_ERROR);
+				logger.error("Failed to release stock for product: {}", productId);
+				return CustomApiResponse.error("Failed to release product stock", HttpStatus.INTERNAL_SERVER_ERROR);
 			}
 
 		} catch (HttpClientErrorException.NotFound e) {
-			logger.error("Product not found for stock update: {}", productId);
+			logger.error("Product not found for stock release: {}", productId);
 			return CustomApiResponse.error("Product not found", HttpStatus.NOT_FOUND);
 		} catch (HttpClientErrorException.BadRequest e) {
-			logger.error("Bad request for stock update: {}", productId);
-			return CustomApiResponse.error("Invalid stock quantity", HttpStatus.BAD_REQUEST);
+			logger.error("Bad request for stock release: {}", productId);
+			return CustomApiResponse.error("Invalid release quantity", HttpStatus.BAD_REQUEST);
+		} catch (ResourceAccessException e) {
+			logger.error("Product Service unavailable for stock release: {}", e.getMessage());
+			return CustomApiResponse.error("Product Service unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+		} catch (Exception e) {
+			logger.error("Error releasing product stock {}: {}", productId, e.getMessage());
+			return CustomApiResponse.error("Error releasing product stock", HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Reserves stock for several products in one all-or-nothing call. On success the
+	 * response carries every reserved product with its remaining stock.
+	 */
+	public CustomApiResponse<List<ProductResponse>> reserveProductsStock(List<StockReservationRequest.Item> items) {
+		try {
+			String url = productServiceBaseUrl + "/reservations";
+			logger.info("Reserving stock for {} products", items.size());
+
+			// Like reserveProductStock, only refused up front once the deadline has passed.
+			ResponseEntity<CustomApiResponse<List<ProductResponse>>> response = productServiceGuard.call(
+					() -> Deadline.advertisedOnly(() -> restTemplate.exchange(url,
+					org.springframework.http.HttpMethod.POST, new HttpEntity<>(new StockReservationRequest(items)),
+					new ParameterizedTypeReference<CustomApiResponse<List<ProductResponse>>>() {
+					})));
+
+			if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+				CustomApiResponse<List<ProductResponse>> reservation = response.getBody();
+				reservation.setStatus(HttpStatus.OK);
+				logger.info("Successfully reserved stock for {} products", items.size());
+				return reservation;
+			} else {
+				logger.error("Failed to reserve stock for {} products", items.size());
+				return CustomApiResponse.error("Failed to reserve product stock", HttpStatus.INTERNAL_SERVER_ERROR);
+			}
+
+		} catch (HttpClientErrorException.Conflict e) {
+			logger.warn("Insufficient stock to reserve cart of {} products", items.size());
+			return CustomApiResponse.error("Insufficient stock", HttpStatus.CONFLICT);
+		} catch (HttpClientErrorException.NotFound e) {
+			logger.error("Product not found for stock reservation: {}", e.getMessage());
+			return CustomApiResponse.error("Product not found", HttpStatus.NOT_FOUND);
+		} catch (HttpClientErrorException.BadRequest e) {
+			logger.error("Bad request for stock reservation: {}", e.getMessage());
+			return CustomApiResponse.error("Invalid reservation quantity", HttpStatus.BAD_REQUEST);
+		} catch (DownstreamUnavailableException e) {
+			logger.warn("Call to {} refused: {}", e.getDownstream(), e.getMessage());
+			return CustomApiResponse.error(e.getMessage(), e.getStatus());
+		} catch (ResourceAccessException e) {
+			logger.error("Product Service unavailable for stock reservation: {}", e.getMessage());
+			return CustomApiResponse.error("Product Service unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+		} catch (Exception e) {
+			logger.error("Error reserving stock for {} products: {}", items.size(), e.getMessage());
+			return CustomApiResponse.error("Error reserving product stock", HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	public CustomApiResponse<List<ProductResponse>> releaseProductsStock(List<StockReservationRequest.Item> items) {
+		try {
+			String url = productServiceBaseUrl + "/reservations/release";
+			logger.info("Releasing reserved stock for {} products", items.size());
+
+			// Like releaseProductStock, not subject to the breaker or bulkhead.
+			ResponseEntity<CustomApiResponse<List<ProductResponse>>> response = Deadline.ignoring(
+					() -> restTemplate.exchange(url, org.springframework.http.HttpMethod.POST,
+					new HttpEntity<>(new StockReservationRequest(items)),
+					new ParameterizedTypeReference<CustomApiResponse<List<ProductResponse>>>() {
+					}));
+
+			if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+				CustomApiResponse<List<ProductResponse>> release = response.getBody();
+				release.setStatus(HttpStatus.OK);
+				logger.info("Successfully released stock for {} products", items.size());
+				return release;
+			} else {
+				logger.error("Failed to release stock for {} products", items.size());
+				return CustomApiResponse.error("Failed to release product stock", HttpStatus.INTERNAL_SERVER_ERROR);
+			}
+
+		} catch (HttpClientErrorException.BadRequest e) {
+			logger.error("Bad request for stock release: {}", e.getMessage());
+			return CustomApiResponse.error("Invalid release quantity", HttpStatus.BAD_REQUEST);
 		} catch (ResourceAccessException e) {
-			logger.error("Product Service unavailable for stock update: {}", e.getMessage());
+			logger.error("Product Service unavailable for stock release: {}", e.getMessage());
 			return CustomApiResponse.error("Product Service unavailable", HttpStatus.SERVICE_UNAVAILABLE);
 		} catch (Exception e) {
-			logger.error("Error updating product stock {}: {}", productId, e.getMessage());
-			return CustomApiResponse.error("Error updating product stock", HttpStatus.INTERNAL_SERVER_ERROR);
+			logger.error("Error releasing stock for {} products: {}", items.size(), e.getMessage());
+			return CustomApiResponse.error("Error releasing product stock", HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
 }
\ No newline at end of file
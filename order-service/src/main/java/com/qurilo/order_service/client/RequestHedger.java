@@ -0,0 +1,185 @@
+package com.qurilo.order_service.client;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.qurilo.order_service.utils.RequestBudget;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Hedges idempotent reads: the primary request is sent right away and, if it hasn't
+ * answered after the configured latency percentile of recent requests, a second request
+ * is sent and whichever answers first wins. Hedges are limited by a {@link RequestBudget}
+ * so a slow downstream never sees more than a small fraction of extra traffic.
+ *
+ * Once one request wins, the other is cancelled and its thread interrupted. That stops it
+ * while it is still waiting for a pooled connection; a request already on the wire runs to
+ * completion (or its timeout) and its result is discarded.
+ */
+public class RequestHedger {
+
+	private final Executor executor;
+	private final RequestBudget budget;
+	private final Duration minDelay;
+	private final Duration maxDelay;
+	private final Timer latency;
+	private final Counter hedgesSent;
+	private final Counter hedgesWon;
+	private final Counter hedgesSkipped;
+
+	public RequestHedger(String downstream, double percentile, Duration minDelay, Duration maxDelay,
+			RequestBudget budget, Executor executor, MeterRegistry meterRegistry) {
+		this.executor = executor;
+		this.budget = budget;
+		this.minDelay = minDelay;
+		this.maxDelay = maxDelay;
+		this.latency = Timer.builder("orders.downstream.read.latency")
+				.description("Latency of individual hedgeable reads, used to pick the hedge delay")
+				.tag("downstream", downstream)
+				.publishPercentiles(percentile)
+				.distributionStatisticExpiry(Duration.ofMinutes(1))
+				.register(meterRegistry);
+		this.hedgesSent = hedgeCounter(meterRegistry, downstream, "sent");
+		this.hedgesWon = hedgeCounter(meterRegistry, downstream, "won");
+		this.hedgesSkipped = hedgeCounter(meterRegistry, downstream, "over_budget");
+	}
+
+	public <T> T execute(Supplier<T> primary, Supplier<T> hedge) {
+		budget.onRequest();
+		CompletableFuture<T> first;
+		try {
+			first = submit(primary);
+		} catch (RejectedExecutionException e) {
+			return timed(primary).get();
+		}
+
+		try {
+			return first.get(hedgeDelay().toNanos(), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			// Primary is slow: fall through and hedge.
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted waiting for downstream read", e);
+		} catch (ExecutionException e) {
+			throw unwrap(e.getCause());
+		}
+
+		if (!budget.tryAcquire()) {
+			hedgesSkipped.increment();
+			return await(first);
+		}
+		CompletableFuture<T> second;
+		try {
+			second = submit(hedge);
+		} catch (RejectedExecutionException e) {
+			return await(first);
+		}
+		hedgesSent.increment();
+		// The primary is only cancelled once the hedge has already won.
+		second.thenRun(() -> {
+			if (!first.isDone() || first.isCancelled()) {
+				hedgesWon.increment();
+			}
+		});
+		try {
+			return await(firstSuccessful(first, second));
+		} finally {
+			first.cancel(true);
+			second.cancel(true);
+		}
+	}
+
+	// Cancelling the returned future interrupts the thread running the call.
+	private <T> CompletableFuture<T> submit(Supplier<T> call) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		Supplier<T> timedCall = timed(call);
+		FutureTask<Void> task = new FutureTask<>(() -> {
+			try {
+				result.complete(timedCall.get());
+			} catch (Throwable e) {
+				result.completeExceptionally(e);
+			}
+		}, null);
+		result.whenComplete((value, error) -> {
+			if (result.isCancelled()) {
+				task.cancel(true);
+			}
+		});
+		executor.execute(task);
+		return result;
+	}
+
+	// The hedge delay tracks the chosen percentile of recent latency, within [minDelay, maxDelay].
+	private Duration hedgeDelay() {
+		ValueAtPercentile[] percentiles = latency.takeSnapshot().percentileValues();
+		if (percentiles.length == 0 || percentiles[0].value() <= 0) {
+			return maxDelay;
+		}
+		long nanos = (long) percentiles[0].value(TimeUnit.NANOSECONDS);
+		return Duration.ofNanos(Math.max(minDelay.toNanos(), Math.min(maxDelay.toNanos(), nanos)));
+	}
+
+	private <T> Supplier<T> timed(Supplier<T> call) {
+		return () -> latency.record(call);
+	}
+
+	// Completes with the first normal result; fails only if both requests fail.
+	private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> first, CompletableFuture<T> second) {
+		CompletableFuture<T> winner = new CompletableFuture<>();
+		AtomicInteger failures = new AtomicInteger();
+		for (CompletableFuture<T> attempt : List.of(first, second)) {
+			attempt.whenComplete((result, error) -> {
+				if (error == null) {
+					winner.complete(result);
+				} else if (failures.incrementAndGet() == 2) {
+					winner.completeExceptionally(error);
+				}
+			});
+		}
+		return winner;
+	}
+
+	private static <T> T await(CompletableFuture<T> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted waiting for downstream read", e);
+		} catch (ExecutionException e) {
+			throw unwrap(e.getCause());
+		}
+	}
+
+	private static RuntimeException unwrap(Throwable error) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		if (cause instanceof RuntimeException runtimeException) {
+			return runtimeException;
+		}
+		if (cause instanceof Error e) {
+			throw e;
+		}
+		return new IllegalStateException(cause);
+	}
+
+	private static Counter hedgeCounter(MeterRegistry meterRegistry, String downstream, String outcome) {
+		return Counter.builder("orders.downstream.hedges")
+				.description("Hedged reads by outcome")
+				.tag("downstream", downstream)
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+}
\ No newline at end of file
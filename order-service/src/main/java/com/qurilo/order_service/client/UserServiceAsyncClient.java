@@ -0,0 +1,106 @@
+package com.qurilo.order_service.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.qurilo.order_service.config.CacheConfig;
+import com.qurilo.order_service.config.TwoLevelCache;
+import com.qurilo.order_service.config.TwoLevelCacheManager;
+import com.qurilo.order_service.dto.CustomApiResponse;
+import com.qurilo.order_service.dto.UserResponse;
+import com.qurilo.order_service.exception.DownstreamUnavailableException;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Non-blocking counterpart of {@link UserServiceClient} for the async order path, sharing
+ * its "users" cache, circuit breaker and bulkhead. Only the local cache is read inline; Redis
+ * is read and written on the cache executor.
+ */
+@Component
+public class UserServiceAsyncClient {
+
+	private static final Logger logger = LoggerFactory.getLogger(UserServiceAsyncClient.class);
+
+	@Autowired
+	private InterServiceHttpClient httpClient;
+
+	@Autowired
+	@Qualifier("userServiceGuard")
+	private DownstreamGuard userServiceGuard;
+
+	@Autowired
+	private TwoLevelCacheManager cacheManager;
+
+	@Autowired
+	@Qualifier("cacheExecutor")
+	private Executor cacheExecutor;
+
+	@Value("${orders.services.user.base-url:http://localhost:8082/api/v1}")
+	private String userServiceBaseUrl;
+
+	private TwoLevelCache userCache;
+
+	private JavaType userResponseType;
+
+	@PostConstruct
+	public void init() {
+		userCache = cacheManager.getCache(CacheConfig.USERS);
+		userResponseType = httpClient.typeFactory().constructParametricType(CustomApiResponse.class,
+				UserResponse.class);
+	}
+
+	@SuppressWarnings("unchecked")
+	public CompletableFuture<CustomApiResponse<UserResponse>> getUserById(Long userId) {
+		return userCache.getAsync(userId, cacheExecutor).thenCompose(cached -> {
+			if (cached != null && cached.get() != null) {
+				return CompletableFuture.completedFuture((CustomApiResponse<UserResponse>) cached.get());
+			}
+			return fetchUser(userId);
+		});
+	}
+
+	private CompletableFuture<CustomApiResponse<UserResponse>> fetchUser(Long userId) {
+		String url = userServiceBaseUrl + "/" + userId;
+		return userServiceGuard.<CustomApiResponse<UserResponse>>callAsync(() -> httpClient.get(url, userResponseType))
+				.thenApply(response -> {
+					response.setStatus(HttpStatus.OK);
+					if (response.isSuccess()) {
+						userCache.putAsync(userId, response, cacheExecutor);
+					}
+					return response;
+				}).exceptionally(error -> failure(error, userId));
+	}
+
+	private static CustomApiResponse<UserResponse> failure(Throwable error, Long userId) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		if (cause instanceof HttpClientErrorException.NotFound) {
+			return CustomApiResponse.error("User not found", HttpStatus.NOT_FOUND);
+		}
+		if (cause instanceof HttpClientErrorException.BadRequest) {
+			return CustomApiResponse.error("Invalid user ID", HttpStatus.BAD_REQUEST);
+		}
+		if (cause instanceof DownstreamUnavailableException refused) {
+			logger.warn("Call to {} refused: {}", refused.getDownstream(), refused.getMessage());
+			return CustomApiResponse.error(refused.getMessage(), refused.getStatus());
+		}
+		if (cause instanceof ResourceAccessException) {
+			logger.error("User Service unavailable: {}", cause.getMessage());
+			return CustomApiResponse.error("User Service unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+		}
+		logger.error("Error verifying user {}: {}", userId, cause.getMessage(), cause);
+		return CustomApiResponse.error("Error verifying user", HttpStatus.INTERNAL_SERVER_ERROR);
+	}
+}
\ No newline at end of file
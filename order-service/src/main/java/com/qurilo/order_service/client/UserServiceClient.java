@@ -3,7 +3,12 @@ package com.qurilo.order_service.client;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -12,7 +17,26 @@ import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import com.qurilo.order_service.dto.CustomApiResponse;
+import com.qurilo.order_service.dto.UserBatchRequest;
 import com.qurilo.order_service.dto.UserResponse;
+import com.qurilo.order_service.exception.DownstreamUnavailableException;
+import com.qurilo.order_service.utils.Deadline;
+import com.qurilo.order_service.utils.MicroBatcher;
+import com.qurilo.order_service.utils.SingleFlight;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Component
 public class UserServiceClient {
@@ -22,17 +46,155 @@ public class UserServiceClient {
 	@Autowired
 	private RestTemplate restTemplate;
 
-	private static final String USER_SERVICE_BASE_URL = "http://localhost:8082/api/v1";
+	@Value("${orders.services.user.base-url:http://localhost:8082/api/v1}")
+	private String userServiceBaseUrl;
+
+	@Value("${orders.services.user.coalesce-wait:5s}")
+	private Duration coalesceWait;
+
+	@Value("${orders.services.user.batch.enabled:true}")
+	private boolean batchLookups;
+
+	@Value("${orders.services.user.batch.window:5ms}")
+	private Duration batchWindow;
+
+	@Value("${orders.services.user.batch.max-size:100}")
+	private int maxBatchSize;
+
+	@Autowired
+	@Qualifier("userBatchExecutor")
+	private Executor userBatchExecutor;
+
+	@Autowired
+	@Qualifier("userServiceGuard")
+	private DownstreamGuard userServiceGuard;
+
+	@Autowired
+	@Qualifier("userServiceRetry")
+	private DownstreamRetry userServiceRetry;
+
+	private final SingleFlight<Long, CustomApiResponse<UserResponse>> userLookups = new SingleFlight<>();
 
+	private MicroBatcher<Long, CustomApiResponse<UserResponse>> userBatcher;
+
+	@PostConstruct
+	public void init() {
+		userBatcher = new MicroBatcher<>("user-lookup", batchWindow, maxBatchSize, this::fetchUsers,
+				userBatchExecutor);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		userBatcher.close();
+	}
+
+	/**
+	 * Concurrent lookups of the same user share one call, and lookups of different users
+	 * arriving within the batch window go out as one /users/batch request.
+	 */
+	@Cacheable(value = "users", key = "#userId", unless = "#result == null || !#result.isSuccess()")
 	public CustomApiResponse<UserResponse> getUserById(Long userId) {
 		try {
-			String url = USER_SERVICE_BASE_URL + "/" + userId;
+			return userLookups.execute(userId, Deadline.cap(coalesceWait),
+					() -> batchLookups ? loadBatched(userId) : fetchUser(userId));
+		} catch (TimeoutException e) {
+			logger.error("Timed out after {} waiting for in-flight lookup of user: {}", coalesceWait, userId);
+			return new CustomApiResponse<>(false, "User Service timed out", null, HttpStatus.GATEWAY_TIMEOUT);
+		}
+	}
+
+	private CustomApiResponse<UserResponse> loadBatched(Long userId) {
+		// The login service rejects a whole batch over one invalid ID, so those never join one.
+		if (userId <= 0) {
+			logger.error("Bad request for user verification: {}", userId);
+			return new CustomApiResponse<>(false, "Invalid user ID", null, HttpStatus.BAD_REQUEST);
+		}
+		try {
+			CustomApiResponse<UserResponse> response = userBatcher.load(userId)
+					.get(Deadline.cap(coalesceWait).toNanos(), TimeUnit.NANOSECONDS);
+			return response != null ? response
+					: new CustomApiResponse<>(false, "User not found", null, HttpStatus.NOT_FOUND);
+		} catch (TimeoutException e) {
+			logger.error("Timed out after {} waiting for batched lookup of user: {}", coalesceWait, userId);
+			return new CustomApiResponse<>(false, "User Service timed out", null, HttpStatus.GATEWAY_TIMEOUT);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return new CustomApiResponse<>(false, "Error verifying user", null, HttpStatus.INTERNAL_SERVER_ERROR);
+		} catch (ExecutionException e) {
+			logger.error("Error verifying user {}: {}", userId, e.getCause().getMessage(), e.getCause());
+			return new CustomApiResponse<>(false, "Error verifying user", null, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Loader for the user batcher. IDs that can't exist were already answered locally by
+	 * {@link #loadBatched}, so only real lookups reach the login service. When the batch call
+	 * itself fails, every user in it fails with that call's status.
+	 */
+	private Map<Long, CustomApiResponse<UserResponse>> fetchUsers(Set<Long> userIds) {
+		CustomApiResponse<List<UserResponse>> batchResponse = fetchUserBatch(userIds);
+		Map<Long, CustomApiResponse<UserResponse>> results = new HashMap<>();
+		if (!batchResponse.isSuccess() || batchResponse.getData() == null) {
+			userIds.forEach(userId -> results.put(userId,
+					new CustomApiResponse<>(false, batchResponse.getMessage(), null, batchResponse.getStatus())));
+			return results;
+		}
+
+		for (UserResponse user : batchResponse.getData()) {
+			results.put(user.getId(), new CustomApiResponse<>(true, "User found successfully", user, HttpStatus.OK));
+		}
+		for (Long userId : userIds) {
+			results.computeIfAbsent(userId,
+					id -> new CustomApiResponse<>(false, "User not found with ID: " + id, null, HttpStatus.NOT_FOUND));
+		}
+		return results;
+	}
+
+	private CustomApiResponse<List<UserResponse>> fetchUserBatch(Set<Long> userIds) {
+		try {
+			String url = userServiceBaseUrl + "/users/batch";
+			logger.info("Verifying {} users from User Service in one batch", userIds.size());
+
+			// A batch lookup only reads, so it is retried like a single one.
+			ResponseEntity<CustomApiResponse<List<UserResponse>>> response = userServiceRetry.execute(
+					() -> userServiceGuard.call(() -> restTemplate.exchange(url,
+					HttpMethod.POST, new HttpEntity<>(new UserBatchRequest(new ArrayList<>(userIds))),
+					new ParameterizedTypeReference<CustomApiResponse<List<UserResponse>>>() {
+					})));
+
+			if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+				CustomApiResponse<List<UserResponse>> batchResponse = response.getBody();
+				batchResponse.setStatus(HttpStatus.OK);
+				return batchResponse;
+			}
+			logger.error("Failed to verify user batch: {}", userIds);
+			return CustomApiResponse.error("User verification failed", HttpStatus.INTERNAL_SERVER_ERROR);
+
+		} catch (HttpClientErrorException.BadRequest e) {
+			logger.error("Bad request for user batch: {}", userIds);
+			return CustomApiResponse.error("Invalid user ID", HttpStatus.BAD_REQUEST);
+		} catch (DownstreamUnavailableException e) {
+			logger.warn("Call to {} refused: {}", e.getDownstream(), e.getMessage());
+			return CustomApiResponse.error(e.getMessage(), e.getStatus());
+		} catch (ResourceAccessException e) {
+			logger.error("User Service unavailable: {}", e.getMessage());
+			return CustomApiResponse.error("User Service unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+		} catch (Exception e) {
+			logger.error("Error verifying user batch {}: {}", userIds, e.getMessage(), e);
+			return CustomApiResponse.error("Error verifying user", HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	private CustomApiResponse<UserResponse> fetchUser(Long userId) {
+		try {
+			String url = userServiceBaseUrl + "/" + userId;
 			logger.info("Verifying user from User Service: {}", url);
 
-			ResponseEntity<CustomApiResponse<UserResponse>> response = restTemplate.exchange(url,
+			ResponseEntity<CustomApiResponse<UserResponse>> response = userServiceRetry.execute(
+					() -> userServiceGuard.call(() -> restTemplate.exchange(url,
 					org.springframework.http.HttpMethod.GET, null,
 					new ParameterizedTypeReference<CustomApiResponse<UserResponse>>() {
-					});
+					})));
 
 			if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
 				CustomApiResponse<UserResponse> userResponse = response.getBody();
@@ -54,6 +216,9 @@ public class UserServiceClient {
 		} catch (HttpClientErrorException.BadRequest e) {
 			logger.error("Bad request for user verification: {}", userId);
 			return new CustomApiResponse<>(false, "Invalid user ID", null, HttpStatus.BAD_REQUEST);
+		} catch (DownstreamUnavailableException e) {
+			logger.warn("Call to {} refused: {}", e.getDownstream(), e.getMessage());
+			return CustomApiResponse.error(e.getMessage(), e.getStatus());
 		} catch (ResourceAccessException e) {
 			logger.error("User Service unavailable: {}", e.getMessage());
 			return new CustomApiResponse<>(false, "User Service unavailable", null, HttpStatus.SERVICE_UNAVAILABLE);
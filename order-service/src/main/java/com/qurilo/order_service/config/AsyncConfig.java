@@ -1,5 +1,6 @@
 package com.qurilo.order_service.config;
 
+import com.qurilo.order_service.utils.Deadline;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -21,4 +22,95 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    // Lookups and hedges run for a caller that is waiting, so they carry its request deadline.
+    @Bean(name = "orderLookupExecutor")
+    public ThreadPoolTaskExecutor orderLookupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(16);
+        executor.setMaxPoolSize(64);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("OrderLookup-");
+        executor.setTaskDecorator(Deadline::propagate);
+        executor.initialize();
+        return executor;
+    }
+
+    // Send batched product and user lookups; when saturated, the batching thread sends the batch itself.
+    @Bean(name = "productBatchExecutor")
+    public ThreadPoolTaskExecutor productBatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("ProductBatch-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "userBatchExecutor")
+    public ThreadPoolTaskExecutor userBatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("UserBatch-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Runs hedged product reads. No queue: a read that can't get a thread right away is sent
+    // on the caller's thread, and a hedge that can't is simply skipped.
+    @Bean(name = "productHedgeExecutor")
+    public ThreadPoolTaskExecutor productHedgeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(64);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("ProductHedge-");
+        executor.setTaskDecorator(Deadline::propagate);
+        executor.initialize();
+        return executor;
+    }
+
+    // Inserts for the non-blocking order path, the only step there that holds a thread. Sized
+    // to the JDBC connection pool, since more threads would only queue for connections.
+    @Bean(name = "orderPersistenceExecutor")
+    public ThreadPoolTaskExecutor orderPersistenceExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(10);
+        executor.setMaxPoolSize(10);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("OrderPersistence-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Redis reads and writes handed off by the non-blocking order path, so the HTTP client's
+    // threads never wait on Redis. When saturated the Redis step is skipped.
+    @Bean(name = "cacheExecutor")
+    public ThreadPoolTaskExecutor cacheExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("CacheIo-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Workers for orders accepted with Prefer: respond-async. The queue bounds how many
+    // accepted orders may wait; beyond it new async orders are rejected with 503.
+    @Bean(name = "orderProcessingExecutor")
+    public ThreadPoolTaskExecutor orderProcessingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("OrderProcessing-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
 } 
\ No newline at end of file
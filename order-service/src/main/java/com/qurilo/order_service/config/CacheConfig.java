@@ -0,0 +1,115 @@
+package com.qurilo.order_service.config;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.qurilo.order_service.dto.CustomApiResponse;
+import com.qurilo.order_service.dto.ProductResponse;
+import com.qurilo.order_service.dto.UserResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String USERS = "users";
+
+    // Bump when the shape of a cached value changes, so entries written by older instances
+    // are never read back as the new type. product-service keeps its own, separate namespace.
+    public static final String KEY_VERSION = "v1";
+
+    @Value("${orders.cache.redis.ttl:10m}")
+    private Duration redisTtl;
+
+    @Value("${orders.cache.local.max-size:10000}")
+    private long localMaxSize;
+
+    @Value("${orders.cache.local.ttl:30s}")
+    private Duration localTtl;
+
+    @Value("${orders.cache.invalidation-channel:order-service:cache-invalidation}")
+    private String invalidationChannel;
+
+    @Value("${orders.cache.product-events-channel:product-service:product-events}")
+    private String productEventsChannel;
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             @Qualifier("customStringRedisTemplate") RedisTemplate<String, String> redisTemplate) {
+        ObjectMapper objectMapper = cacheObjectMapper();
+        // product-service deletes changed products under this prefix (products.cache.subscriber-key-prefixes).
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(redisTtl)
+                .disableCachingNullValues()
+                .computePrefixWith(cacheName -> "order-service::" + KEY_VERSION + "::" + cacheName + "::")
+                .serializeKeysWith(SerializationPair.fromSerializer(new StringRedisSerializer()));
+
+        // Typed per cache so hits come back as the response class rather than a LinkedHashMap.
+        // Clearing a cache walks its keys with SCAN instead of one blocking KEYS call.
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(RedisCacheWriter.nonLockingRedisCacheWriter(
+                        connectionFactory, BatchStrategies.scan(1000)))
+                .cacheDefaults(defaults)
+                .withCacheConfiguration(PRODUCTS, defaults.serializeValuesWith(SerializationPair.fromSerializer(
+                        new Jackson2JsonRedisSerializer<>(objectMapper, responseOf(objectMapper, ProductResponse.class)))))
+                .withCacheConfiguration(USERS, defaults.serializeValuesWith(SerializationPair.fromSerializer(
+                        new Jackson2JsonRedisSerializer<>(objectMapper, responseOf(objectMapper, UserResponse.class)))))
+                .disableCreateOnMissingCache()
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoLevelCacheManager(redisCacheManager, redisTemplate, invalidationChannel, localMaxSize, localTtl);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(invalidationChannel));
+        container.addMessageListener(new ProductEventListener(cacheManager), new ChannelTopic(productEventsChannel));
+        return container;
+    }
+
+    private static ObjectMapper cacheObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
+        objectMapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.addMixIn(CustomApiResponse.class, CachedResponseMixin.class);
+        return objectMapper;
+    }
+
+    private static JavaType responseOf(ObjectMapper objectMapper, Class<?> dataType) {
+        return objectMapper.getTypeFactory().constructParametricType(CustomApiResponse.class, dataType);
+    }
+
+    // The status is left out of API payloads but callers check it, so keep it in the cache.
+    private abstract static class CachedResponseMixin {
+        @JsonIgnore(false)
+        private HttpStatus status;
+    }
+}
\ No newline at end of file
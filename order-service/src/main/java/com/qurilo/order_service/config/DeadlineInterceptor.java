@@ -0,0 +1,74 @@
+package com.qurilo.order_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qurilo.order_service.dto.CustomApiResponse;
+import com.qurilo.order_service.utils.Deadline;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Binds a {@link Deadline} to each order request: the caller's X-Request-Deadline if it sent
+ * one, capped at the default timeout. Calls to the product and user services pass it on and
+ * stop early once it has passed. A request that arrives after its deadline gets 504 straight away.
+ */
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadlineInterceptor.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final Duration defaultTimeout;
+
+    public DeadlineInterceptor(ObjectMapper objectMapper, Duration defaultTimeout) {
+        this.objectMapper = objectMapper;
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        Deadline deadline = Deadline.after(defaultTimeout);
+        String header = request.getHeader(Deadline.HEADER);
+        if (header != null) {
+            try {
+                long requested = Long.parseLong(header.trim());
+                if (requested < deadline.epochMillis()) {
+                    deadline = Deadline.at(requested);
+                }
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring malformed {} header: {}", Deadline.HEADER, header);
+            }
+        }
+
+        if (deadline.isExpired()) {
+            logger.warn("Dropping {} {}: caller deadline already passed", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    CustomApiResponse.error("Request deadline exceeded", HttpStatus.GATEWAY_TIMEOUT));
+            return false;
+        }
+        Deadline.set(deadline);
+        return true;
+    }
+
+    // The request thread is handed back to the container once a handler returns a future.
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        Deadline.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        Deadline.clear();
+    }
+}
\ No newline at end of file
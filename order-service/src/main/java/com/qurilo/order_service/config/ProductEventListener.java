@@ -0,0 +1,53 @@
+package com.qurilo.order_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qurilo.order_service.dto.ProductCacheEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.io.IOException;
+
+/**
+ * Drops cached products that product-service reports as changed, e.g. after a stock
+ * reservation by another order-service instance or a stock update. Every instance gets the
+ * event, so each only drops its local copy: product-service deletes the shared Redis entries
+ * once before publishing, which also keeps Redis round trips off the listener thread. An
+ * event this service can't read, or one from a newer contract version, clears the whole
+ * local products cache instead.
+ */
+public class ProductEventListener implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductEventListener.class);
+
+    private final TwoLevelCacheManager cacheManager;
+    private final ObjectMapper objectMapper = RestTemplateConfig.interServiceObjectMapper();
+
+    public ProductEventListener(TwoLevelCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        TwoLevelCache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        if (products == null) {
+            return;
+        }
+        ProductCacheEvent event;
+        try {
+            event = objectMapper.readValue(message.getBody(), ProductCacheEvent.class);
+        } catch (IOException e) {
+            logger.warn("Unreadable product event, clearing the products cache: {}", e.getMessage());
+            products.clearLocal();
+            return;
+        }
+        if (event.getVersion() > ProductCacheEvent.VERSION || event.getProductIds() == null) {
+            logger.warn("Unsupported product event version {}, clearing the products cache", event.getVersion());
+            products.clearLocal();
+            return;
+        }
+        logger.debug("Product event {} for {}", event.getType(), event.getProductIds());
+        event.getProductIds().forEach(products::evictLocal);
+    }
+}
\ No newline at end of file
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -21,10 +22,10 @@ public class RedisConnectionChecker {
     }
 
     @EventListener(ApplicationReadyEvent.class)
-    	@Scheduled(fixedRate = 5000)
+    @Scheduled(fixedRate = 5000)
     public void checkRedisConnection() {
-        try {
-            String pong = redisTemplate.getConnectionFactory().getConnection().ping();
+        try (RedisConnection connection = redisTemplate.getConnectionFactory().getConnection()) {
+            String pong = connection.ping();
 
             if ("PONG".equals(pong) && !isConnected) {
                 logger.info("redis connected!");
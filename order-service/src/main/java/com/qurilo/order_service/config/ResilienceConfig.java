@@ -0,0 +1,104 @@
+package com.qurilo.order_service.config;
+
+import com.qurilo.order_service.client.DownstreamGuard;
+import com.qurilo.order_service.client.DownstreamRetry;
+import com.qurilo.order_service.utils.RequestBudget;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ResilienceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilienceConfig.class);
+
+    public static final String PRODUCT_SERVICE = "product-service";
+    public static final String USER_SERVICE = "user-service";
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry() {
+        return CircuitBreakerRegistry.ofDefaults();
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry() {
+        return BulkheadRegistry.ofDefaults();
+    }
+
+    // Exposes resilience4j.circuitbreaker.state/calls and resilience4j.bulkhead.* per downstream.
+    @Bean
+    public MeterBinder resilienceMetrics(CircuitBreakerRegistry circuitBreakerRegistry,
+                                         BulkheadRegistry bulkheadRegistry) {
+        return registry -> {
+            TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(registry);
+            TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(registry);
+        };
+    }
+
+    @Bean
+    public DownstreamGuard productServiceGuard(ResilienceProperties properties, CircuitBreakerRegistry circuitBreakerRegistry,
+                                               BulkheadRegistry bulkheadRegistry, MeterRegistry meterRegistry) {
+        return guard(PRODUCT_SERVICE, properties.getProduct(), circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+    }
+
+    @Bean
+    public DownstreamGuard userServiceGuard(ResilienceProperties properties, CircuitBreakerRegistry circuitBreakerRegistry,
+                                            BulkheadRegistry bulkheadRegistry, MeterRegistry meterRegistry) {
+        return guard(USER_SERVICE, properties.getUser(), circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+    }
+
+    @Bean
+    public DownstreamRetry productServiceRetry(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        return retry(PRODUCT_SERVICE, properties.getProduct(), meterRegistry);
+    }
+
+    @Bean
+    public DownstreamRetry userServiceRetry(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        return retry(USER_SERVICE, properties.getUser(), meterRegistry);
+    }
+
+    private DownstreamRetry retry(String name, ResilienceProperties.Downstream settings, MeterRegistry meterRegistry) {
+        return new DownstreamRetry(name, settings.getRetryMaxAttempts(), settings.getRetryInitialBackoff(),
+                settings.getRetryMaxBackoff(), new RequestBudget(settings.getRetryBudgetRatio(), 10), meterRegistry);
+    }
+
+    private DownstreamGuard guard(String name, ResilienceProperties.Downstream settings,
+                                  CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                                  MeterRegistry meterRegistry) {
+        // 4xx responses are the caller's problem (unknown product, insufficient stock), not
+        // a sign that the downstream service is unhealthy.
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(settings.getSlowCallDuration())
+                .waitDurationInOpenState(settings.getWaitInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(settings.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build();
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(settings.getMaxConcurrentCalls())
+                .maxWaitDuration(settings.getMaxWait())
+                .build();
+
+        var circuitBreaker = circuitBreakerRegistry.circuitBreaker(name, circuitBreakerConfig);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                logger.warn("Circuit breaker for {} moved {}", name, event.getStateTransition()));
+        return new DownstreamGuard(name, circuitBreaker, bulkheadRegistry.bulkhead(name, bulkheadConfig), meterRegistry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.qurilo.order_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker and bulkhead settings for each downstream service. A breaker opens when
+ * either the failure rate or the slow-call rate over the sliding window crosses its
+ * threshold; the bulkhead caps how many calls to the service may be in flight at once.
+ * Idempotent reads that fail transiently are retried, within a retry budget.
+ */
+@ConfigurationProperties(prefix = "orders.resilience")
+public class ResilienceProperties {
+
+    private Downstream product = new Downstream();
+
+    private Downstream user = new Downstream();
+
+    public Downstream getProduct() {
+        return product;
+    }
+
+    public void setProduct(Downstream product) {
+        this.product = product;
+    }
+
+    public Downstream getUser() {
+        return user;
+    }
+
+    public void setUser(Downstream user) {
+        this.user = user;
+    }
+
+    public static class Downstream {
+
+        private int slidingWindowSize = 50;
+
+        private int minimumNumberOfCalls = 20;
+
+        private float failureRateThreshold = 50;
+
+        private float slowCallRateThreshold = 50;
+
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+
+        private int permittedCallsInHalfOpenState = 5;
+
+        private int maxConcurrentCalls = 50;
+
+        // How long a caller may wait for a bulkhead slot before being turned away.
+        private Duration maxWait = Duration.ofMillis(50);
+
+        // Attempts per idempotent read, including the first; 1 disables retries.
+        private int retryMaxAttempts = 3;
+
+        private Duration retryInitialBackoff = Duration.ofMillis(50);
+
+        private Duration retryMaxBackoff = Duration.ofSeconds(1);
+
+        // Retries allowed per normal request, e.g. 0.1 for at most one retry in ten requests.
+        private double retryBudgetRatio = 0.1;
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+        }
+
+        public float getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public float getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public Duration getSlowCallDuration() {
+            return slowCallDuration;
+        }
+
+        public void setSlowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+        }
+
+        public Duration getWaitInOpenState() {
+            return waitInOpenState;
+        }
+
+        public void setWaitInOpenState(Duration waitInOpenState) {
+            this.waitInOpenState = waitInOpenState;
+        }
+
+        public int getPermittedCallsInHalfOpenState() {
+            return permittedCallsInHalfOpenState;
+        }
+
+        public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+        }
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public int getRetryMaxAttempts() {
+            return retryMaxAttempts;
+        }
+
+        public void setRetryMaxAttempts(int retryMaxAttempts) {
+            this.retryMaxAttempts = retryMaxAttempts;
+        }
+
+        public Duration getRetryInitialBackoff() {
+            return retryInitialBackoff;
+        }
+
+        public void setRetryInitialBackoff(Duration retryInitialBackoff) {
+            this.retryInitialBackoff = retryInitialBackoff;
+        }
+
+        public Duration getRetryMaxBackoff() {
+            return retryMaxBackoff;
+        }
+
+        public void setRetryMaxBackoff(Duration retryMaxBackoff) {
+            this.retryMaxBackoff = retryMaxBackoff;
+        }
+
+        public double getRetryBudgetRatio() {
+            return retryBudgetRatio;
+        }
+
+        public void setRetryBudgetRatio(double retryBudgetRatio) {
+            this.retryBudgetRatio = retryBudgetRatio;
+        }
+    }
+}
\ No newline at end of file
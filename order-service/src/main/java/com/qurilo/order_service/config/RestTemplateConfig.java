@@ -2,36 +2,150 @@ package com.qurilo.order_service.config;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 
+import com.qurilo.order_service.utils.Deadline;
+
+import java.net.URI;
+import java.net.http.HttpClient;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class RestTemplateConfig {
 
+	@Bean(destroyMethod = "close")
+	public PoolingHttpClientConnectionManager httpConnectionManager(HttpClientProperties properties) {
+		ConnectionConfig connectionConfig = ConnectionConfig.custom()
+				.setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+				.setSocketTimeout(Timeout.of(properties.getResponseTimeout()))
+				.setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+				.setTimeToLive(TimeValue.of(properties.getTimeToLive())).build();
+
+		// LIFO reuse keeps the most recently used, warm connections busy and lets the rest idle out.
+		PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+				.setMaxConnTotal(properties.getMaxTotal()).setMaxConnPerRoute(properties.getMaxPerRoute())
+				.setDefaultConnectionConfig(connectionConfig).setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+				.setConnPoolPolicy(PoolReusePolicy.LIFO).build();
+
+		properties.getRoutes().forEach((hostAndPort, maxConnections) -> connectionManager
+				.setMaxPerRoute(new HttpRoute(HttpHost.create(URI.create("http://" + hostAndPort))), maxConnections));
+		return connectionManager;
+	}
+
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager,
+			HttpClientProperties properties) {
+		return HttpClients.custom().setConnectionManager(httpConnectionManager)
+				.setDefaultRequestConfig(requestConfig(properties, properties.getResponseTimeout()))
+				.evictIdleConnections(TimeValue.of(properties.getIdleEviction())).evictExpiredConnections().build();
+	}
+
+	// Publishes httpcomponents.httpclient.pool.* gauges: leased, available and pending connections.
 	@Bean
-	public RestTemplate restTemplate(RestTemplateBuilder builder) {
-		RestTemplate restTemplate = builder.setConnectTimeout(Duration.ofSeconds(10))
-				.setReadTimeout(Duration.ofSeconds(30)).build();
-		List<HttpMessageConverter<?>> messageConverters = new ArrayList<>();
-		MappingJackson2HttpMessageConverter jsonConverter = new MappingJackson2HttpMessageConverter();
+	public MeterBinder httpConnectionPoolMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+		return new PoolingHttpClientConnectionManagerMetricsBinder(httpConnectionManager, "inter-service");
+	}
+
+	// Non-blocking client for the async order path; the bulkheads bound how many calls it has in flight.
+	@Bean
+	public HttpClient asyncHttpClient(HttpClientProperties properties) {
+		return HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(properties.getConnectTimeout()).build();
+	}
+
+	private static RequestConfig requestConfig(HttpClientProperties properties, Duration responseTimeout) {
+		return RequestConfig.custom().setConnectionRequestTimeout(Timeout.of(properties.getPoolAcquireTimeout()))
+				.setResponseTimeout(Timeout.of(responseTimeout))
+				.setConnectionKeepAlive(TimeValue.of(properties.getKeepAlive())).build();
+	}
+
+	// Waits no longer for a response than the caller of the current request has left.
+	private static HttpComponentsClientHttpRequestFactory deadlineAwareRequestFactory(CloseableHttpClient httpClient,
+			HttpClientProperties properties) {
+		HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+		requestFactory.setHttpContextFactory((method, uri) -> {
+			if (Deadline.current() == null) {
+				return null;
+			}
+			HttpClientContext context = HttpClientContext.create();
+			context.setRequestConfig(requestConfig(properties, Deadline.cap(properties.getResponseTimeout())));
+			return context;
+		});
+		return requestFactory;
+	}
+
+	// Tells the product and user services when our caller stops waiting.
+	private static ClientHttpRequestInterceptor deadlineHeaderInterceptor() {
+		return (request, body, execution) -> {
+			Deadline deadline = Deadline.toAdvertise();
+			if (deadline != null) {
+				request.getHeaders().set(Deadline.HEADER, Long.toString(deadline.epochMillis()));
+			}
+			return execution.execute(request, body);
+		};
+	}
+
+	/**
+	 * Lenient mapper for reading product and user service responses, shared by the
+	 * RestTemplate and the non-blocking clients.
+	 */
+	public static ObjectMapper interServiceObjectMapper() {
 		ObjectMapper objectMapper = new ObjectMapper();
 		objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 		objectMapper.configure(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT, true);
 		objectMapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
 		objectMapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+		return objectMapper;
+	}
+
+	@Bean
+	public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient,
+			HttpClientProperties properties) {
+		RestTemplate restTemplate = builder.requestFactory(() -> deadlineAwareRequestFactory(httpClient, properties))
+				.additionalInterceptors(deadlineHeaderInterceptor()).build();
+		List<HttpMessageConverter<?>> messageConverters = new ArrayList<>();
+		MappingJackson2HttpMessageConverter jsonConverter = new MappingJackson2HttpMessageConverter();
+		ObjectMapper objectMapper = interServiceObjectMapper();
 
 		jsonConverter.setObjectMapper(objectMapper);
+		// Listed first, Smile is what requests are sent as and what the Accept header prefers;
+		// JSON stays as the fallback for endpoints or servers that don't speak Smile.
+		if (properties.isSmile()) {
+			messageConverters.add(new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory())));
+		}
 		messageConverters.add(jsonConverter);
 		messageConverters.addAll(restTemplate.getMessageConverters().stream()
-				.filter(converter -> !(converter instanceof MappingJackson2HttpMessageConverter)).toList());
+				.filter(converter -> !(converter instanceof MappingJackson2HttpMessageConverter)
+						&& !(converter instanceof MappingJackson2SmileHttpMessageConverter))
+				.toList());
 
 		restTemplate.setMessageConverters(messageConverters);
 
@@ -0,0 +1,194 @@
+package com.qurilo.order_service.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Caffeine cache in front of a Redis cache. Reads are served from the local heap when
+ * possible and fall through to Redis on a miss; writes go to both. Every put, evict or
+ * clear is announced through {@link TwoLevelCacheManager} so the other instances drop
+ * their local copy of the entry.
+ *
+ * The *Async variants are for threads that must never block, such as HttpClient callbacks:
+ * only the local cache is touched inline and Redis work goes to the given executor. When
+ * that executor is saturated the Redis step is skipped; the local TTL and the Redis TTL
+ * bound how long that can leave an entry stale.
+ *
+ * A read that misses locally copies the Redis value into the local cache. An evict landing
+ * between the Redis read and that copy would otherwise be undone for the local TTL, so every
+ * local eviction bumps a generation for the key's stripe and the read drops its copy again
+ * when the generation moved.
+ */
+public class TwoLevelCache implements org.springframework.cache.Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final String name;
+    private final Cache<String, Object> local;
+    private final org.springframework.cache.Cache remote;
+    private final TwoLevelCacheManager cacheManager;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    TwoLevelCache(String name, Cache<String, Object> local, org.springframework.cache.Cache remote,
+                  TwoLevelCacheManager cacheManager) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+
+        int stripe = stripe(localKey);
+        long generation = generations.get(stripe);
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            local.put(localKey, wrapper.get());
+            if (generations.get(stripe) != generation) {
+                local.invalidate(localKey);
+            }
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        remote.put(key, value);
+        local.put(localKey(key), value);
+        cacheManager.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        evictLocal(localKey(key));
+        cacheManager.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        cacheManager.publishClear(name);
+    }
+
+    // Completes with null on a miss, when the executor is saturated or when Redis fails.
+    public CompletableFuture<ValueWrapper> getAsync(Object key, Executor executor) {
+        Object value = local.getIfPresent(localKey(key));
+        if (value != null) {
+            return CompletableFuture.completedFuture(new SimpleValueWrapper(value));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> get(key), executor).exceptionally(error -> {
+                logger.warn("Failed to read {}::{} from Redis: {}", name, key, error.getMessage());
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    public void putAsync(Object key, Object value, Executor executor) {
+        local.put(localKey(key), value);
+        runAsync(executor, "write", key, () -> put(key, value));
+    }
+
+    public void evictAsync(Object key, Executor executor) {
+        evictLocal(localKey(key));
+        runAsync(executor, "evict", key, () -> evict(key));
+    }
+
+    private void runAsync(Executor executor, String operation, Object key, Runnable task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to {} {}::{} in Redis: {}", operation, name, key, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Cache executor saturated, skipped Redis {} of {}::{}", operation, name, key);
+        }
+    }
+
+    // Bumped before the invalidation, so a read that copies afterwards still sees the change.
+    void evictLocal(String localKey) {
+        generations.incrementAndGet(stripe(localKey));
+        local.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        local.invalidateAll();
+    }
+
+    private static int stripe(String localKey) {
+        return Math.floorMod(localKey.hashCode(), GENERATION_STRIPES);
+    }
+
+    // Invalidation messages carry keys as strings, so the local cache is keyed the same way.
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
\ No newline at end of file
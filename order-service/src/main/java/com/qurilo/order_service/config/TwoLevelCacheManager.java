@@ -0,0 +1,105 @@
+package com.qurilo.order_service.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps the Redis cache manager so every cache gets a bounded local (L1) copy. Changes are
+ * published on a Redis channel as "instanceId|cacheName|op|key"; each instance listens on
+ * that channel and drops the affected L1 entries, ignoring its own messages.
+ */
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    private static final String SEPARATOR = "|";
+    private static final String EVICT = "evict";
+    private static final String CLEAR = "clear";
+
+    private final RedisCacheManager redisCacheManager;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String channel;
+    private final long localMaxSize;
+    private final Duration localTtl;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager, RedisTemplate<String, String> redisTemplate,
+                                String channel, long localMaxSize, Duration localTtl) {
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    public TwoLevelCache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache remote = redisCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+        return new TwoLevelCache(name, local, remote, this);
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(cacheName, EVICT, key);
+    }
+
+    void publishClear(String cacheName) {
+        publish(cacheName, CLEAR, "");
+    }
+
+    private void publish(String cacheName, String op, String key) {
+        try {
+            redisTemplate.convertAndSend(channel, String.join(SEPARATOR, instanceId, cacheName, op, key));
+        } catch (Exception e) {
+            // Peers fall back to their local TTL for this entry.
+            logger.warn("Failed to publish cache invalidation for {}::{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 4 || instanceId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (CLEAR.equals(parts[2])) {
+            cache.clearLocal();
+        } else if (EVICT.equals(parts[2])) {
+            cache.evictLocal(parts[3]);
+        }
+    }
+}
\ No newline at end of file
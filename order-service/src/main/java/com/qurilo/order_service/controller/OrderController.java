@@ -1,33 +1,141 @@
 package com.qurilo.order_service.controller;
 
+import com.qurilo.order_service.dto.BatchOrderItemResponse;
+import com.qurilo.order_service.dto.BatchOrderRequest;
+import com.qurilo.order_service.dto.CheckoutRequest;
 import com.qurilo.order_service.dto.CustomApiResponse;
+import com.qurilo.order_service.dto.OrderFilter;
+import com.qurilo.order_service.dto.OrderPageResponse;
 import com.qurilo.order_service.dto.OrderRequest;
 import com.qurilo.order_service.dto.OrderResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.qurilo.order_service.service.IdempotencyService;
+import com.qurilo.order_service.service.OrderExportService;
 import com.qurilo.order_service.service.OrderService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/orders")
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String PREFER_HEADER = "Prefer";
+    private static final String RESPOND_ASYNC = "respond-async";
+
+    private static final TypeReference<CustomApiResponse<OrderResponse>> ORDER_RESPONSE_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<CustomApiResponse<List<BatchOrderItemResponse>>> BATCH_RESPONSE_TYPE = new TypeReference<>() {
+    };
+
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Value("${orders.non-blocking.enabled:false}")
+    private boolean nonBlocking;
+
+    @Value("${orders.export.timeout:30m}")
+    private Duration exportTimeout;
+
+    /**
+     * Creates an order. With {@code Prefer: respond-async} the order is only accepted here and
+     * processed in the background: the response is 202 with a Location to poll for its status.
+     * With orders.non-blocking.enabled, orders without an Idempotency-Key are processed on the
+     * non-blocking path and the request thread is released while the other services answer.
+     */
     @PostMapping
-    public ResponseEntity<CustomApiResponse<OrderResponse>> createOrder(@Valid @RequestBody OrderRequest request) {
-        CustomApiResponse<OrderResponse> response = orderService.processOrder(request);
+    public CompletableFuture<ResponseEntity<CustomApiResponse<OrderResponse>>> createOrder(
+            @Valid @RequestBody OrderRequest request,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(name = PREFER_HEADER, required = false) String prefer) {
+        if (prefer == null || !prefer.toLowerCase().contains(RESPOND_ASYNC)) {
+            if (nonBlocking && idempotencyKey == null) {
+                return orderService.processOrderNonBlocking(request)
+                        .thenApply(response -> new ResponseEntity<>(response, response.getStatus()));
+            }
+            CustomApiResponse<OrderResponse> response = idempotencyService.execute("orders", idempotencyKey, request,
+                    ORDER_RESPONSE_TYPE, () -> orderService.processOrder(request));
+            return CompletableFuture.completedFuture(new ResponseEntity<>(response, response.getStatus()));
+        }
+
+        CustomApiResponse<OrderResponse> response = idempotencyService.execute("orders-async", idempotencyKey,
+                request, ORDER_RESPONSE_TYPE, () -> orderService.acceptOrder(request));
+        if (response.getStatus() != HttpStatus.ACCEPTED) {
+            return CompletableFuture.completedFuture(new ResponseEntity<>(response, response.getStatus()));
+        }
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{orderId}")
+                .buildAndExpand(response.getData().getId()).toUri();
+        return CompletableFuture.completedFuture(ResponseEntity.accepted().location(location)
+                .header("Preference-Applied", RESPOND_ASYNC).body(response));
+    }
+
+    /**
+     * Streams matching orders oldest first as newline-delimited JSON, one order per line.
+     * Takes the same filters as the listing, e.g. from/to for one day's orders. The stream may
+     * run far longer than other requests, so only this request gets the export timeout.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportOrders(OrderFilter filter, NativeWebRequest webRequest) {
+        CustomApiResponse<StreamingResponseBody> response = orderExportService.exportOrders(filter);
+        if (!response.isSuccess()) {
+            return ResponseEntity.status(response.getStatus()).contentType(MediaType.APPLICATION_JSON).body(response);
+        }
+        WebAsyncUtils.getAsyncManager(webRequest).getAsyncWebRequest().setTimeout(exportTimeout.toMillis());
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(response.getData());
+    }
+
+    @GetMapping("/{orderId}")
+    public ResponseEntity<CustomApiResponse<OrderResponse>> getOrder(@PathVariable Long orderId) {
+        CustomApiResponse<OrderResponse> response = orderService.getOrder(orderId);
+        return new ResponseEntity<>(response, response.getStatus());
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<CustomApiResponse<List<BatchOrderItemResponse>>> createOrders(
+            @Valid @RequestBody BatchOrderRequest request,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        CustomApiResponse<List<BatchOrderItemResponse>> response = idempotencyService.execute("orders-batch",
+                idempotencyKey, request, BATCH_RESPONSE_TYPE, () -> orderService.processOrders(request.getOrders()));
+        return new ResponseEntity<>(response, response.getStatus());
+    }
+
+    @PostMapping("/checkout")
+    public ResponseEntity<CustomApiResponse<OrderResponse>> checkout(@Valid @RequestBody CheckoutRequest request,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        CustomApiResponse<OrderResponse> response = idempotencyService.execute("orders-checkout", idempotencyKey,
+                request, ORDER_RESPONSE_TYPE, () -> orderService.checkout(request));
         return new ResponseEntity<>(response, response.getStatus());
     }
 
+    /**
+     * Lists orders newest first. Filters are optional query parameters (userId, productId,
+     * status, from, to); pass the previous page's nextCursor as cursor to get the next page.
+     */
     @GetMapping
-    public ResponseEntity<CustomApiResponse<List<OrderResponse>>> getOrders(
-            @RequestParam(required = false) String search) {
-        CustomApiResponse<List<OrderResponse>> response = orderService.getOrders(search);
+    public ResponseEntity<CustomApiResponse<OrderPageResponse>> getOrders(
+            @RequestParam(required = false) String search, OrderFilter filter,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CustomApiResponse<OrderPageResponse> response = orderService.getOrders(search, filter, cursor, size);
         return new ResponseEntity<>(response, response.getStatus());
     }
 } 
\ No newline at end of file
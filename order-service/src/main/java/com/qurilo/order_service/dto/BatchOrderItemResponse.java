@@ -0,0 +1,78 @@
+package com.qurilo.order_service.dto;
+
+import org.springframework.http.HttpStatus;
+
+public class BatchOrderItemResponse {
+
+	private int index;
+	private boolean success;
+	private String message;
+	private int status;
+	private OrderResponse order;
+
+	public BatchOrderItemResponse() {
+	}
+
+	public BatchOrderItemResponse(int index, boolean success, String message, HttpStatus status,
+			OrderResponse order) {
+		this.index = index;
+		this.success = success;
+		this.message = message;
+		this.status = status.value();
+		this.order = order;
+	}
+
+	public static BatchOrderItemResponse created(int index, OrderResponse order) {
+		return new BatchOrderItemResponse(index, true, "Order processed successfully", HttpStatus.CREATED, order);
+	}
+
+	public static BatchOrderItemResponse failed(int index, String message, HttpStatus status) {
+		return new BatchOrderItemResponse(index, false, message, status, null);
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public void setIndex(int index) {
+		this.index = index;
+	}
+
+	public boolean isSuccess() {
+		return success;
+	}
+
+	public void setSuccess(boolean success) {
+		this.success = success;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public void setStatus(int status) {
+		this.status = status;
+	}
+
+	public OrderResponse getOrder() {
+		return order;
+	}
+
+	public void setOrder(OrderResponse order) {
+		this.order = order;
+	}
+
+	@Override
+	public String toString() {
+		return "BatchOrderItemResponse{" + "index=" + index + ", success=" + success + ", message='" + message
+				+ '\'' + ", status=" + status + ", order=" + order + '}';
+	}
+}
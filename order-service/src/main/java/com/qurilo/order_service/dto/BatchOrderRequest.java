@@ -0,0 +1,36 @@
+package com.qurilo.order_service.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public class BatchOrderRequest {
+
+	public static final int MAX_BATCH_SIZE = 500;
+
+	@NotEmpty(message = "At least one order is required")
+	@Size(max = MAX_BATCH_SIZE, message = "A batch can contain at most " + MAX_BATCH_SIZE + " orders")
+	private List<@Valid OrderRequest> orders;
+
+	public BatchOrderRequest() {
+	}
+
+	public BatchOrderRequest(List<OrderRequest> orders) {
+		this.orders = orders;
+	}
+
+	public List<OrderRequest> getOrders() {
+		return orders;
+	}
+
+	public void setOrders(List<OrderRequest> orders) {
+		this.orders = orders;
+	}
+
+	@Override
+	public String toString() {
+		return "BatchOrderRequest{" + "orders=" + orders + '}';
+	}
+}
@@ -0,0 +1,92 @@
+package com.qurilo.order_service.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public class CheckoutRequest {
+
+	public static final int MAX_LINES = 100;
+
+	@NotNull(message = "User ID is required")
+	@Positive(message = "User ID must be positive")
+	private Long userId;
+
+	@NotEmpty(message = "At least one item is required")
+	@Size(max = MAX_LINES, message = "A cart can contain at most " + MAX_LINES + " items")
+	private List<@Valid Item> items;
+
+	public CheckoutRequest() {
+	}
+
+	public CheckoutRequest(Long userId, List<Item> items) {
+		this.userId = userId;
+		this.items = items;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public List<Item> getItems() {
+		return items;
+	}
+
+	public void setItems(List<Item> items) {
+		this.items = items;
+	}
+
+	@Override
+	public String toString() {
+		return "CheckoutRequest{" + "userId=" + userId + ", items=" + items + '}';
+	}
+
+	public static class Item {
+
+		@NotBlank(message = "Product ID is required")
+		private String productId;
+
+		@NotNull(message = "Quantity is required")
+		@Min(value = 1, message = "Quantity must be at least 1")
+		private Integer quantity;
+
+		public Item() {
+		}
+
+		public Item(String productId, Integer quantity) {
+			this.productId = productId;
+			this.quantity = quantity;
+		}
+
+		public String getProductId() {
+			return productId;
+		}
+
+		public void setProductId(String productId) {
+			this.productId = productId;
+		}
+
+		public Integer getQuantity() {
+			return quantity;
+		}
+
+		public void setQuantity(Integer quantity) {
+			this.quantity = quantity;
+		}
+
+		@Override
+		public String toString() {
+			return "Item{" + "productId='" + productId + '\'' + ", quantity=" + quantity + '}';
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.qurilo.order_service.dto;
+
+public class IdempotencyRecord {
+
+	public enum State {
+		IN_PROGRESS, COMPLETED
+	}
+
+	private State state;
+	private String requestHash;
+	private Integer httpStatus;
+	private String responseBody;
+
+	public IdempotencyRecord() {
+	}
+
+	public IdempotencyRecord(State state, String requestHash, Integer httpStatus, String responseBody) {
+		this.state = state;
+		this.requestHash = requestHash;
+		this.httpStatus = httpStatus;
+		this.responseBody = responseBody;
+	}
+
+	public static IdempotencyRecord inProgress(String requestHash) {
+		return new IdempotencyRecord(State.IN_PROGRESS, requestHash, null, null);
+	}
+
+	public static IdempotencyRecord completed(String requestHash, int httpStatus, String responseBody) {
+		return new IdempotencyRecord(State.COMPLETED, requestHash, httpStatus, responseBody);
+	}
+
+	public State getState() {
+		return state;
+	}
+
+	public void setState(State state) {
+		this.state = state;
+	}
+
+	public String getRequestHash() {
+		return requestHash;
+	}
+
+	public void setRequestHash(String requestHash) {
+		this.requestHash = requestHash;
+	}
+
+	public Integer getHttpStatus() {
+		return httpStatus;
+	}
+
+	public void setHttpStatus(Integer httpStatus) {
+		this.httpStatus = httpStatus;
+	}
+
+	public String getResponseBody() {
+		return responseBody;
+	}
+
+	public void setResponseBody(String responseBody) {
+		this.responseBody = responseBody;
+	}
+
+	@Override
+	public String toString() {
+		return "IdempotencyRecord{" + "state=" + state + ", requestHash='" + requestHash + '\'' + ", httpStatus="
+				+ httpStatus + '}';
+	}
+}
@@ -0,0 +1,31 @@
+package com.qurilo.order_service.dto;
+
+public class OrderConfirmationPayload {
+
+	private UserResponse user;
+	private OrderResponse order;
+
+	public OrderConfirmationPayload() {
+	}
+
+	public OrderConfirmationPayload(UserResponse user, OrderResponse order) {
+		this.user = user;
+		this.order = order;
+	}
+
+	public UserResponse getUser() {
+		return user;
+	}
+
+	public void setUser(UserResponse user) {
+		this.user = user;
+	}
+
+	public OrderResponse getOrder() {
+		return order;
+	}
+
+	public void setOrder(OrderResponse order) {
+		this.order = order;
+	}
+}
\ No newline at end of file
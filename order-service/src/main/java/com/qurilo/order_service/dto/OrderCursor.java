@@ -0,0 +1,50 @@
+package com.qurilo.order_service.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.qurilo.order_service.entity.Order;
+
+/**
+ * Position of the last order on a page, handed to clients as an opaque token. The next page
+ * continues strictly after it in (createdAt, id) descending order.
+ */
+public class OrderCursor {
+
+	private final LocalDateTime createdAt;
+	private final Long id;
+
+	public OrderCursor(LocalDateTime createdAt, Long id) {
+		this.createdAt = createdAt;
+		this.id = id;
+	}
+
+	public static OrderCursor after(Order order) {
+		return new OrderCursor(order.getCreatedAt(), order.getId());
+	}
+
+	public static OrderCursor decode(String token) {
+		try {
+			String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = value.lastIndexOf('|');
+			return new OrderCursor(LocalDateTime.parse(value.substring(0, separator)),
+					Long.valueOf(value.substring(separator + 1)));
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+	}
+
+	public String encode() {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.qurilo.order_service.dto;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.qurilo.order_service.entity.Order;
+
+/**
+ * Optional filters for listing orders, bound from query parameters. The date range is
+ * inclusive of {@code from} and exclusive of {@code to}.
+ */
+public class OrderFilter {
+
+	private Long userId;
+	private String productId;
+	private Order.OrderStatus status;
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	private LocalDateTime from;
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	private LocalDateTime to;
+
+	public OrderFilter() {
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public String getProductId() {
+		return productId;
+	}
+
+	public void setProductId(String productId) {
+		this.productId = productId;
+	}
+
+	public Order.OrderStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(Order.OrderStatus status) {
+		this.status = status;
+	}
+
+	public LocalDateTime getFrom() {
+		return from;
+	}
+
+	public void setFrom(LocalDateTime from) {
+		this.from = from;
+	}
+
+	public LocalDateTime getTo() {
+		return to;
+	}
+
+	public void setTo(LocalDateTime to) {
+		this.to = to;
+	}
+
+	@Override
+	public String toString() {
+		return "OrderFilter{" + "userId=" + userId + ", productId='" + productId + '\'' + ", status=" + status
+				+ ", from=" + from + ", to=" + to + '}';
+	}
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.qurilo.order_service.dto;
+
+import java.math.BigDecimal;
+
+import com.qurilo.order_service.entity.OrderLine;
+
+public class OrderLineResponse {
+
+	private String productId;
+	private String productName;
+	private Integer quantity;
+	private BigDecimal unitPrice;
+	private BigDecimal totalPrice;
+
+	public OrderLineResponse() {
+	}
+
+	public OrderLineResponse(String productId, String productName, Integer quantity, BigDecimal unitPrice,
+			BigDecimal totalPrice) {
+		this.productId = productId;
+		this.productName = productName;
+		this.quantity = quantity;
+		this.unitPrice = unitPrice;
+		this.totalPrice = totalPrice;
+	}
+
+	public static OrderLineResponse fromOrderLine(OrderLine line) {
+		return new OrderLineResponse(line.getProductId(), line.getProductName(), line.getQuantity(),
+				line.getUnitPrice(), line.getTotalPrice());
+	}
+
+	public String getProductId() {
+		return productId;
+	}
+
+	public void setProductId(String productId) {
+		this.productId = productId;
+	}
+
+	public String getProductName() {
+		return productName;
+	}
+
+	public void setProductName(String productName) {
+		this.productName = productName;
+	}
+
+	public Integer getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(Integer quantity) {
+		this.quantity = quantity;
+	}
+
+	public BigDecimal getUnitPrice() {
+		return unitPrice;
+	}
+
+	public void setUnitPrice(BigDecimal unitPrice) {
+		this.unitPrice = unitPrice;
+	}
+
+	public BigDecimal getTotalPrice() {
+		return totalPrice;
+	}
+
+	public void setTotalPrice(BigDecimal totalPrice) {
+		this.totalPrice = totalPrice;
+	}
+
+	@Override
+	public String toString() {
+		return "OrderLineResponse{" + "productId='" + productId + '\'' + ", productName='" + productName + '\''
+				+ ", quantity=" + quantity + ", unitPrice=" + unitPrice + ", totalPrice=" + totalPrice + '}';
+	}
+}
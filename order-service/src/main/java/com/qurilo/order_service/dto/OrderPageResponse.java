@@ -0,0 +1,49 @@
+package com.qurilo.order_service.dto;
+
+import java.util.List;
+
+public class OrderPageResponse {
+
+	private List<OrderResponse> orders;
+	private String nextCursor;
+	private boolean hasMore;
+
+	public OrderPageResponse() {
+	}
+
+	public OrderPageResponse(List<OrderResponse> orders, String nextCursor) {
+		this.orders = orders;
+		this.nextCursor = nextCursor;
+		this.hasMore = nextCursor != null;
+	}
+
+	public List<OrderResponse> getOrders() {
+		return orders;
+	}
+
+	public void setOrders(List<OrderResponse> orders) {
+		this.orders = orders;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+	public boolean isHasMore() {
+		return hasMore;
+	}
+
+	public void setHasMore(boolean hasMore) {
+		this.hasMore = hasMore;
+	}
+
+	@Override
+	public String toString() {
+		return "OrderPageResponse{" + "orders=" + orders + ", nextCursor='" + nextCursor + '\'' + ", hasMore="
+				+ hasMore + '}';
+	}
+}
\ No newline at end of file
@@ -1,10 +1,12 @@
 package com.qurilo.order_service.dto;
 
 import com.qurilo.order_service.entity.Order;
+import com.qurilo.order_service.entity.OrderLine;
 import com.qurilo.order_service.utils.UtilityMethods;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class OrderResponse {
 
@@ -16,8 +18,10 @@ public class OrderResponse {
 	private BigDecimal unitPrice;
 	private BigDecimal totalPrice;
 	private String status;
+	private String failureReason;
 	private String createdAt;
 	private String updatedAt;
+	private List<OrderLineResponse> lines;
 
 	public OrderResponse() {
 	}
@@ -38,9 +42,19 @@ public class OrderResponse {
 	}
 
 	public static OrderResponse fromOrder(Order order) {
-		return new OrderResponse(order.getId(), order.getUserId(), order.getProductId(), order.getProductName(),
-				order.getQuantity(), order.getUnitPrice(), order.getTotalPrice(), order.getStatus().name(),
-				order.getCreatedAt(), order.getUpdatedAt());
+		return fromOrder(order, order.getLines());
+	}
+
+	// For callers that loaded the lines themselves, so the order's lazy collection is never touched.
+	public static OrderResponse fromOrder(Order order, List<OrderLine> lines) {
+		OrderResponse response = new OrderResponse(order.getId(), order.getUserId(), order.getProductId(),
+				order.getProductName(), order.getQuantity(), order.getUnitPrice(), order.getTotalPrice(),
+				order.getStatus().name(), order.getCreatedAt(), order.getUpdatedAt());
+		if (lines != null && !lines.isEmpty()) {
+			response.setLines(lines.stream().map(OrderLineResponse::fromOrderLine).toList());
+		}
+		response.setFailureReason(order.getFailureReason());
+		return response;
 	}
 
 
@@ -116,6 +130,14 @@ public class OrderResponse {
 		this.createdAt = createdAt;
 	}
 
+	public String getFailureReason() {
+		return failureReason;
+	}
+
+	public void setFailureReason(String failureReason) {
+		this.failureReason = failureReason;
+	}
+
 	public String getUpdatedAt() {
 		return updatedAt;
 	}
@@ -124,11 +146,20 @@ public class OrderResponse {
 		this.updatedAt = updatedAt;
 	}
 
+	public List<OrderLineResponse> getLines() {
+		return lines;
+	}
+
+	public void setLines(List<OrderLineResponse> lines) {
+		this.lines = lines;
+	}
+
 	@Override
 	public String toString() {
 		return "OrderResponse{" + "id=" + id + ", userId=" + userId + ", productId='" + productId + '\''
 				+ ", productName='" + productName + '\'' + ", quantity=" + quantity + ", unitPrice=" + unitPrice
-				+ ", totalPrice=" + totalPrice + ", status='" + status + '\'' + ", createdAt=" + createdAt
-				+ ", updatedAt=" + updatedAt + '}';
+				+ ", totalPrice=" + totalPrice + ", status='" + status + '\''
+				+ ", failureReason='" + failureReason + '\'' + ", createdAt=" + createdAt
+				+ ", updatedAt=" + updatedAt + ", lines=" + lines + '}';
 	}
 }
\ No newline at end of file
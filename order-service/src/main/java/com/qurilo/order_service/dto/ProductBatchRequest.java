@@ -0,0 +1,28 @@
+package com.qurilo.order_service.dto;
+
+import java.util.List;
+
+public class ProductBatchRequest {
+
+	private List<String> productIds;
+
+	public ProductBatchRequest() {
+	}
+
+	public ProductBatchRequest(List<String> productIds) {
+		this.productIds = productIds;
+	}
+
+	public List<String> getProductIds() {
+		return productIds;
+	}
+
+	public void setProductIds(List<String> productIds) {
+		this.productIds = productIds;
+	}
+
+	@Override
+	public String toString() {
+		return "ProductBatchRequest{" + "productIds=" + productIds + '}';
+	}
+}
\ No newline at end of file
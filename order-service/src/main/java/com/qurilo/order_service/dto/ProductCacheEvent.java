@@ -0,0 +1,53 @@
+package com.qurilo.order_service.dto;
+
+import java.util.List;
+
+/**
+ * Product change event published by product-service on its product events channel; mirrors
+ * product-service's ProductCacheEvent. Unknown fields are ignored, and an event with a
+ * newer {@link #VERSION} than this service knows is handled conservatively.
+ */
+public class ProductCacheEvent {
+
+	public static final int VERSION = 1;
+
+	public static final String PRODUCT_ADDED = "PRODUCT_ADDED";
+	public static final String PRODUCT_CHANGED = "PRODUCT_CHANGED";
+
+	private int version;
+	private String type;
+	private List<String> productIds;
+
+	public ProductCacheEvent() {
+	}
+
+	public ProductCacheEvent(String type, List<String> productIds) {
+		this.version = VERSION;
+		this.type = type;
+		this.productIds = productIds;
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public void setVersion(int version) {
+		this.version = version;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	public List<String> getProductIds() {
+		return productIds;
+	}
+
+	public void setProductIds(List<String> productIds) {
+		this.productIds = productIds;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.qurilo.order_service.dto;
+
+import java.util.List;
+
+public class StockReservationRequest {
+
+	private List<Item> items;
+
+	public StockReservationRequest() {
+	}
+
+	public StockReservationRequest(List<Item> items) {
+		this.items = items;
+	}
+
+	public List<Item> getItems() {
+		return items;
+	}
+
+	public void setItems(List<Item> items) {
+		this.items = items;
+	}
+
+	@Override
+	public String toString() {
+		return "StockReservationRequest{" + "items=" + items + '}';
+	}
+
+	public static class Item {
+
+		private String productId;
+		private Integer quantity;
+
+		public Item() {
+		}
+
+		public Item(String productId, Integer quantity) {
+			this.productId = productId;
+			this.quantity = quantity;
+		}
+
+		public String getProductId() {
+			return productId;
+		}
+
+		public void setProductId(String productId) {
+			this.productId = productId;
+		}
+
+		public Integer getQuantity() {
+			return quantity;
+		}
+
+		public void setQuantity(Integer quantity) {
+			this.quantity = quantity;
+		}
+
+		@Override
+		public String toString() {
+			return "Item{" + "productId='" + productId + '\'' + ", quantity=" + quantity + '}';
+		}
+	}
+}
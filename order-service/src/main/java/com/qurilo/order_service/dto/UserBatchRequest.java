@@ -0,0 +1,28 @@
+package com.qurilo.order_service.dto;
+
+import java.util.List;
+
+public class UserBatchRequest {
+
+	private List<Long> userIds;
+
+	public UserBatchRequest() {
+	}
+
+	public UserBatchRequest(List<Long> userIds) {
+		this.userIds = userIds;
+	}
+
+	public List<Long> getUserIds() {
+		return userIds;
+	}
+
+	public void setUserIds(List<Long> userIds) {
+		this.userIds = userIds;
+	}
+
+	@Override
+	public String toString() {
+		return "UserBatchRequest{" + "userIds=" + userIds + '}';
+	}
+}
\ No newline at end of file
@@ -1,21 +1,33 @@
 package com.qurilo.order_service.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_orders_user_id_created_at_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_orders_product_id_created_at_id", columnList = "product_id, created_at, id"),
+        @Index(name = "idx_orders_status_created_at_id", columnList = "status, created_at, id")
+})
 public class Order {
     
+    // Pooled sequence rather than IDENTITY so Hibernate can batch inserts: ids are handed
+    // out 50 at a time without a round trip per row.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "user_id", nullable = false)
     private Long userId;
     
-    @Column(name = "product_id", nullable = false)
+    @Column(name = "product_id")
     private String productId;
     
     @Column(name = "product_name")
@@ -34,14 +46,23 @@ public class Order {
     @Column(name = "status", nullable = false)
     private OrderStatus status;
     
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Only cart orders have lines; single-product orders keep the product on the header.
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id ASC")
+    @BatchSize(size = 50)
+    private List<OrderLine> lines = new ArrayList<>();
+    
     public enum OrderStatus {
-        CONFIRMED, FAILED
+        PENDING, CONFIRMED, FAILED
     }
     
     public Order() {}
@@ -59,6 +80,46 @@ public class Order {
         this.updatedAt = LocalDateTime.now();
     }
     
+    // Accepted for asynchronous processing; product details and price are filled in by confirm().
+    public Order(Long userId, String productId, Integer quantity) {
+        this.userId = userId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.status = OrderStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public Order(Long userId, List<OrderLine> lines, OrderStatus status) {
+        this.userId = userId;
+        this.quantity = 0;
+        this.totalPrice = BigDecimal.ZERO;
+        this.status = status;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+        lines.forEach(this::addLine);
+    }
+    
+    public void addLine(OrderLine line) {
+        line.setOrder(this);
+        this.lines.add(line);
+        this.quantity += line.getQuantity();
+        this.totalPrice = this.totalPrice.add(line.getTotalPrice());
+    }
+    
+    public void confirm(String productName, BigDecimal unitPrice) {
+        this.productName = productName;
+        this.unitPrice = unitPrice;
+        this.totalPrice = unitPrice.multiply(BigDecimal.valueOf(quantity));
+        this.status = OrderStatus.CONFIRMED;
+        this.failureReason = null;
+    }
+    
+    public void fail(String reason) {
+        this.status = OrderStatus.FAILED;
+        this.failureReason = reason;
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -129,6 +190,14 @@ public class Order {
         this.status = status;
     }
     
+    public String getFailureReason() {
+        return failureReason;
+    }
+    
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -145,6 +214,14 @@ public class Order {
         this.updatedAt = updatedAt;
     }
     
+    public List<OrderLine> getLines() {
+        return lines;
+    }
+    
+    public void setLines(List<OrderLine> lines) {
+        this.lines = lines;
+    }
+    
     @Override
     public String toString() {
         return "Order{" +
@@ -156,6 +233,7 @@ public class Order {
                 ", unitPrice=" + unitPrice +
                 ", totalPrice=" + totalPrice +
                 ", status=" + status +
+                ", failureReason='" + failureReason + '\'' +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
                 '}';
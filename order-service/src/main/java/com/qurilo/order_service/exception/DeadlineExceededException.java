@@ -0,0 +1,19 @@
+package com.qurilo.order_service.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown instead of calling a downstream service when the current request's deadline has
+ * already passed: the caller has given up, so the call would be wasted work.
+ */
+public class DeadlineExceededException extends DownstreamUnavailableException {
+
+    public DeadlineExceededException(String downstream) {
+        super(downstream, "Request deadline exceeded before calling " + downstream, null);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.GATEWAY_TIMEOUT;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.qurilo.order_service.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown instead of calling a downstream service when its circuit breaker is open or its
+ * bulkhead is full.
+ */
+public class DownstreamUnavailableException extends RuntimeException {
+
+    private final String downstream;
+
+    public DownstreamUnavailableException(String downstream, String message, Throwable cause) {
+        super(message, cause);
+        this.downstream = downstream;
+    }
+
+    public String getDownstream() {
+        return downstream;
+    }
+
+    public HttpStatus getStatus() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+}
\ No newline at end of file
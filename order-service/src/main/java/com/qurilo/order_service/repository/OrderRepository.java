@@ -2,18 +2,33 @@ package com.qurilo.order_service.repository;
 
 import com.qurilo.order_service.entity.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
-    
-    @Query("SELECT o FROM Order o WHERE " +
-           "CAST(o.userId AS string) LIKE %:searchTerm% OR " +
-           "o.productId LIKE %:searchTerm% OR " +
-           "o.status LIKE %:searchTerm%")
-    List<Order> searchOrders(@Param("searchTerm") String searchTerm);
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>,
+        OrderRepositoryCustom {
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = com.qurilo.order_service.entity.Order.OrderStatus.FAILED, " +
+           "o.failureReason = :reason, o.updatedAt = :now " +
+           "WHERE o.status = com.qurilo.order_service.entity.Order.OrderStatus.PENDING AND o.createdAt < :before")
+    int failPendingOrdersCreatedBefore(@Param("before") LocalDateTime before, @Param("reason") String reason,
+                                       @Param("now") LocalDateTime now);
+
+    // Conditional so a worker finishing late can't overwrite an order the stale-order sweep already failed.
+    @Modifying
+    @Query("UPDATE Order o SET o.status = com.qurilo.order_service.entity.Order.OrderStatus.CONFIRMED, " +
+           "o.productName = :productName, o.unitPrice = :unitPrice, o.totalPrice = :totalPrice, " +
+           "o.failureReason = null, o.updatedAt = :now " +
+           "WHERE o.id = :id AND o.status = com.qurilo.order_service.entity.Order.OrderStatus.PENDING")
+    int confirmPendingOrder(@Param("id") Long id, @Param("productName") String productName,
+                            @Param("unitPrice") BigDecimal unitPrice, @Param("totalPrice") BigDecimal totalPrice,
+                            @Param("now") LocalDateTime now);
 } 
\ No newline at end of file
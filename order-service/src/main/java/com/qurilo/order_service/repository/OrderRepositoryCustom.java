@@ -0,0 +1,26 @@
+package com.qurilo.order_service.repository;
+
+import com.qurilo.order_service.entity.Order;
+import com.qurilo.order_service.entity.OrderLine;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Streams matching orders through a database cursor, fetching {@code fetchSize} rows per
+     * round trip. Must be called inside a transaction and the stream closed by the caller.
+     */
+    Stream<Order> streamAll(Specification<Order> specification, Sort sort, int fetchSize);
+
+    /**
+     * Loads the lines of many orders in one query, keyed by order id. Orders without lines
+     * have no entry.
+     */
+    Map<Long, List<OrderLine>> findLinesByOrderIds(Collection<Long> orderIds);
+}
\ No newline at end of file
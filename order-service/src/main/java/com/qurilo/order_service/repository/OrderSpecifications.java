@@ -0,0 +1,111 @@
+package com.qurilo.order_service.repository;
+
+import com.qurilo.order_service.dto.OrderCursor;
+import com.qurilo.order_service.dto.OrderFilter;
+import com.qurilo.order_service.entity.Order;
+import com.qurilo.order_service.entity.OrderLine;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public final class OrderSpecifications {
+
+    public static final int MIN_PARTIAL_MATCH_LENGTH = 3;
+
+    // Up to 18 digits so the value always fits in a long.
+    private static final Pattern USER_ID = Pattern.compile("\\d{1,18}");
+    private static final Pattern PRODUCT_ID = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Order> matching(OrderFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getUserId() != null) {
+                predicates.add(cb.equal(root.get("userId"), filter.getUserId()));
+            }
+            if (filter.getProductId() != null && !filter.getProductId().isBlank()) {
+                predicates.add(hasProduct(root, query, cb, filter.getProductId().trim()));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), filter.getTo()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Routes a free-text search to the narrowest indexed lookup it can be: a number is a user
+     * id, a UUID is a product id and a status name is a status, all exact matches on B-tree
+     * indexes. Anything else is a partial match on product id or name, served by the trigram
+     * indexes in schema.sql, which need at least {@value #MIN_PARTIAL_MATCH_LENGTH} characters.
+     * Partial matches only see the product on the order itself, so they miss cart orders.
+     */
+    public static Specification<Order> searching(String searchTerm) {
+        if (USER_ID.matcher(searchTerm).matches()) {
+            long userId = Long.parseLong(searchTerm);
+            return (root, query, cb) -> cb.equal(root.get("userId"), userId);
+        }
+        if (PRODUCT_ID.matcher(searchTerm).matches()) {
+            String productId = searchTerm.toLowerCase(Locale.ROOT);
+            return (root, query, cb) -> hasProduct(root, query, cb, productId);
+        }
+        for (Order.OrderStatus status : Order.OrderStatus.values()) {
+            if (status.name().equalsIgnoreCase(searchTerm)) {
+                return (root, query, cb) -> cb.equal(root.get("status"), status);
+            }
+        }
+        if (searchTerm.length() < MIN_PARTIAL_MATCH_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Search term must be at least " + MIN_PARTIAL_MATCH_LENGTH + " characters");
+        }
+        String pattern = "%" + escapeLike(searchTerm.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(root.get("productId"), pattern, '\\'),
+                cb.like(cb.lower(root.get("productName")), pattern, '\\'));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Keyset condition for newest-first paging: (createdAt, id) < (cursor.createdAt, cursor.id).
+     * The redundant createdAt <= bound gives Postgres a range to start the index scan from;
+     * the OR on its own only works as a filter.
+     */
+    public static Specification<Order> after(OrderCursor cursor) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("createdAt"), cursor.getCreatedAt()),
+                cb.or(cb.lessThan(root.get("createdAt"), cursor.getCreatedAt()),
+                        cb.and(cb.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                                cb.lessThan(root.get("id"), cursor.getId()))));
+    }
+
+    // Single-product orders carry the product on the header, cart orders only on their lines.
+    private static Predicate hasProduct(Root<Order> root, CriteriaQuery<?> query, CriteriaBuilder cb,
+                                        String productId) {
+        Subquery<Long> lines = query.subquery(Long.class);
+        Root<OrderLine> line = lines.from(OrderLine.class);
+        lines.select(line.get("id")).where(
+                cb.equal(line.get("order"), root),
+                cb.equal(line.get("productId"), productId));
+        return cb.or(cb.equal(root.get("productId"), productId), cb.exists(lines));
+    }
+}
\ No newline at end of file
@@ -1,23 +1,20 @@
 package com.qurilo.order_service.service;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StreamUtils;
+import org.springframework.web.util.HtmlUtils;
 
+import com.qurilo.order_service.dto.OrderLineResponse;
 import com.qurilo.order_service.dto.OrderResponse;
 import com.qurilo.order_service.dto.UserResponse;
 
@@ -29,27 +26,21 @@ public class EmailService {
 	@Autowired
 	private JavaMailSender mailSender;
 
-	private final Executor emailExecutor = Executors.newFixedThreadPool(2);
+	/**
+	 * Sends the confirmation synchronously and lets failures propagate, so the outbox relay
+	 * can retry delivery instead of the email being silently dropped.
+	 */
+	public void sendOrderConfirmationEmail(UserResponse user, OrderResponse order) throws MessagingException {
+		MimeMessage message = mailSender.createMimeMessage();
+		MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
-	public void sendOrderConfirmationEmail(UserResponse user, OrderResponse order) {
-		CompletableFuture.runAsync(() -> {
-			try {
-				MimeMessage message = mailSender.createMimeMessage();
-				MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-				
-				helper.setTo(user.getEmail());
-				helper.setSubject("Order Confirmation - Order #" + order.getId());
-				helper.setText(createOrderConfirmationEmailContent(user, order), true);
-				
-				mailSender.send(message);
-				logger.info("Order confirmation email sent successfully to user: {} for order: {}", 
-						user.getEmail(), order.getId());
-				
-			} catch (Exception e) {
-				logger.error("Failed to send order confirmation email to user: {} for order: {}. Error: {}", 
-						user.getEmail(), order.getId(), e.getMessage(), e);
-			}
-		}, emailExecutor);
+		helper.setTo(user.getEmail());
+		helper.setSubject("Order Confirmation - Order #" + order.getId());
+		helper.setText(createOrderConfirmationEmailContent(user, order), true);
+
+		mailSender.send(message);
+		logger.info("Order confirmation email sent successfully to user: {} for order: {}", 
+				user.getEmail(), order.getId());
 	}
 
 	private String createOrderConfirmationEmailContent(UserResponse user, OrderResponse order) {
@@ -60,9 +51,7 @@ public class EmailService {
 			String htmlContent = htmlTemplate
 					.replace("{{userName}}", user.getFirstName() + " " + user.getLastName())
 					.replace("{{orderId}}", String.valueOf(order.getId()))
-					.replace("{{productName}}", order.getProductName())
-					.replace("{{quantity}}", String.valueOf(order.getQuantity()))
-					.replace("{{unitPrice}}", String.valueOf(order.getUnitPrice()))
+					.replace("{{itemRows}}", createItemRows(order))
 					.replace("{{status}}", order.getStatus())
 					.replace("{{orderDate}}", order.getCreatedAt())
 					.replace("{{totalAmount}}", String.valueOf(order.getTotalPrice()));
@@ -74,15 +63,43 @@ public class EmailService {
 		}
 	}
 	
+	private String createItemRows(OrderResponse order) {
+		if (order.getLines() == null) {
+			return createDetailRow("Product:", HtmlUtils.htmlEscape(String.valueOf(order.getProductName())))
+					+ createDetailRow("Quantity:", String.valueOf(order.getQuantity()))
+					+ createDetailRow("Unit Price:", "₹" + order.getUnitPrice());
+		}
+		StringBuilder rows = new StringBuilder();
+		for (OrderLineResponse line : order.getLines()) {
+			rows.append(createDetailRow(HtmlUtils.htmlEscape(String.valueOf(line.getProductName())) + " × "
+					+ line.getQuantity() + ":", "₹" + line.getTotalPrice()));
+		}
+		return rows.toString();
+	}
+
+	private String createDetailRow(String label, String value) {
+		return "                <div class='detail-row'>\n"
+				+ "                    <span class='detail-label'>" + label + "</span>\n"
+				+ "                    <span class='detail-value'>" + value + "</span>\n"
+				+ "                </div>\n";
+	}
+	
 	private String createFallbackEmailContent(UserResponse user, OrderResponse order) {
 		StringBuilder content = new StringBuilder();
 		content.append("Dear ").append(user.getFirstName()).append(" ").append(user.getLastName()).append(",\n\n");
 		content.append("Thank you for your order! Your order has been confirmed and is being processed.\n\n");
 		content.append("Order Details:\n");
 		content.append("Order ID: #").append(order.getId()).append("\n");
-		content.append("Product: ").append(order.getProductName()).append("\n");
-		content.append("Quantity: ").append(order.getQuantity()).append("\n");
-		content.append("Unit Price: ₹").append(order.getUnitPrice()).append("\n");
+		if (order.getLines() == null) {
+			content.append("Product: ").append(order.getProductName()).append("\n");
+			content.append("Quantity: ").append(order.getQuantity()).append("\n");
+			content.append("Unit Price: ₹").append(order.getUnitPrice()).append("\n");
+		} else {
+			for (OrderLineResponse line : order.getLines()) {
+				content.append("Product: ").append(line.getProductName()).append(" x ").append(line.getQuantity())
+						.append(" @ ₹").append(line.getUnitPrice()).append("\n");
+			}
+		}
 		content.append("Total Amount: ₹").append(order.getTotalPrice()).append("\n");
 		content.append("Order Status: ").append(order.getStatus()).append("\n");
 		content.append("Order Date: ").append(order.getCreatedAt()).append("\n\n");
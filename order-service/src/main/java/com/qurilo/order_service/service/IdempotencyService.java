@@ -0,0 +1,184 @@
+package com.qurilo.order_service.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qurilo.order_service.dto.CustomApiResponse;
+import com.qurilo.order_service.dto.IdempotencyRecord;
+import com.qurilo.order_service.utils.Deadline;
+
+/**
+ * Makes order-creating requests safe to retry. The first request carrying an
+ * Idempotency-Key claims the key in Redis and runs; its response is stored under the key
+ * and replayed to every retry. Retries that arrive while the first request is still
+ * running wait for its result instead of running the order pipeline again, for at most
+ * {@code orders.idempotency.wait-timeout} or whatever is left of their own deadline.
+ */
+@Service
+public class IdempotencyService {
+
+	private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+	private static final String KEY_PREFIX = "order-service:idempotency:";
+	private static final int MAX_KEY_LENGTH = 255;
+	private static final long MIN_POLL_INTERVAL_MS = 25;
+	private static final long MAX_POLL_INTERVAL_MS = 500;
+
+	@Autowired
+	@Qualifier("customStringRedisTemplate")
+	private RedisTemplate<String, String> redisTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${orders.idempotency.ttl:24h}")
+	private Duration ttl;
+
+	@Value("${orders.idempotency.in-progress-ttl:2m}")
+	private Duration inProgressTtl;
+
+	@Value("${orders.idempotency.wait-timeout:30s}")
+	private Duration waitTimeout;
+
+	public <T> CustomApiResponse<T> execute(String operation, String idempotencyKey, Object request,
+			TypeReference<CustomApiResponse<T>> responseType, Supplier<CustomApiResponse<T>> action) {
+		if (idempotencyKey == null) {
+			return action.get();
+		}
+		if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+			return CustomApiResponse.error(
+					"Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters",
+					HttpStatus.BAD_REQUEST);
+		}
+
+		String redisKey = KEY_PREFIX + operation + ":" + idempotencyKey;
+		String requestHash;
+		try {
+			requestHash = hash(objectMapper.writeValueAsString(request));
+		} catch (JsonProcessingException e) {
+			logger.error("Failed to fingerprint request for idempotency key {}: {}", idempotencyKey, e.getMessage());
+			return CustomApiResponse.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+
+		try {
+			// A retry waits no longer than the request itself may take.
+			long deadline = System.nanoTime() + Deadline.cap(waitTimeout).toNanos();
+			long pollInterval = MIN_POLL_INTERVAL_MS;
+			while (true) {
+				Boolean claimed = redisTemplate.opsForValue().setIfAbsent(redisKey,
+						write(IdempotencyRecord.inProgress(requestHash)), inProgressTtl);
+				if (Boolean.TRUE.equals(claimed)) {
+					break;
+				}
+
+				// Null means the first execution failed or its claim expired; the next pass claims it again.
+				String stored = redisTemplate.opsForValue().get(redisKey);
+				if (stored != null) {
+					IdempotencyRecord record = objectMapper.readValue(stored, IdempotencyRecord.class);
+					if (!requestHash.equals(record.getRequestHash())) {
+						logger.warn("Idempotency key {} reused with a different {} request", idempotencyKey, operation);
+						return CustomApiResponse.error("Idempotency-Key was already used for a different request",
+								HttpStatus.UNPROCESSABLE_ENTITY);
+					}
+
+					if (record.getState() == IdempotencyRecord.State.COMPLETED) {
+						logger.info("Replaying stored {} response for idempotency key {}", operation, idempotencyKey);
+						CustomApiResponse<T> response = objectMapper.readValue(record.getResponseBody(), responseType);
+						response.setStatus(HttpStatus.valueOf(record.getHttpStatus()));
+						return response;
+					}
+				}
+
+				long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if (remainingMs <= 0) {
+					logger.warn("Gave up waiting for in-flight {} request with idempotency key {}", operation,
+							idempotencyKey);
+					return CustomApiResponse.error("A request with this Idempotency-Key is still being processed",
+							HttpStatus.CONFLICT);
+				}
+				Thread.sleep(Math.min(pollInterval, remainingMs));
+				pollInterval = Math.min(pollInterval * 2, MAX_POLL_INTERVAL_MS);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return CustomApiResponse.error("Request interrupted", HttpStatus.SERVICE_UNAVAILABLE);
+		} catch (JsonProcessingException e) {
+			logger.error("Corrupt idempotency record for key {}: {}", idempotencyKey, e.getMessage());
+			return CustomApiResponse.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR);
+		} catch (DataAccessException e) {
+			// Redis is a protection layer, not a dependency of order creation: fail open. Only
+			// the claim and lookup are covered here; the action itself runs outside this block
+			// so a failure inside it can never make it run a second time.
+			logger.error("Redis unavailable for idempotency key {}, processing without deduplication: {}",
+					idempotencyKey, e.getMessage());
+			return action.get();
+		}
+
+		return runAndStore(redisKey, requestHash, action);
+	}
+
+	private <T> CustomApiResponse<T> runAndStore(String redisKey, String requestHash,
+			Supplier<CustomApiResponse<T>> action) {
+		CustomApiResponse<T> response;
+		try {
+			response = action.get();
+		} catch (RuntimeException e) {
+			release(redisKey);
+			throw e;
+		}
+
+		if (response.getStatus() == null || response.getStatus().is5xxServerError()) {
+			// Server-side failures are usually transient, so let the client's retry run again.
+			release(redisKey);
+			return response;
+		}
+
+		try {
+			String record = write(IdempotencyRecord.completed(requestHash, response.getStatus().value(),
+					objectMapper.writeValueAsString(response)));
+			redisTemplate.opsForValue().set(redisKey, record, ttl);
+		} catch (JsonProcessingException | DataAccessException e) {
+			logger.error("Failed to store response for idempotency key {}: {}", redisKey, e.getMessage());
+		}
+		return response;
+	}
+
+	private void release(String redisKey) {
+		try {
+			redisTemplate.delete(redisKey);
+		} catch (DataAccessException e) {
+			logger.error("Failed to release idempotency key {}: {}", redisKey, e.getMessage());
+		}
+	}
+
+	private String write(IdempotencyRecord record) throws JsonProcessingException {
+		return objectMapper.writeValueAsString(record);
+	}
+
+	private static String hash(String value) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package com.qurilo.order_service.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qurilo.order_service.dto.CustomApiResponse;
+import com.qurilo.order_service.dto.OrderFilter;
+import com.qurilo.order_service.dto.OrderResponse;
+import com.qurilo.order_service.entity.Order;
+import com.qurilo.order_service.entity.OrderLine;
+import com.qurilo.order_service.repository.OrderRepository;
+import com.qurilo.order_service.repository.OrderSpecifications;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Exports orders as newline-delimited JSON straight from a database cursor. Orders are read
+ * in chunks of the fetch size, their lines loaded with one query per chunk, and each chunk is
+ * written and cleared before the next is read, so memory use doesn't depend on the export
+ * size. A semaphore caps how many exports can hold a connection at once.
+ */
+@Service
+public class OrderExportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderExportService.class);
+
+	private static final Sort EXPORT_ORDER = Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"));
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${orders.export.fetch-size:500}")
+	private int fetchSize;
+
+	@Value("${orders.export.max-concurrent:2}")
+	private int maxConcurrentExports;
+
+	private Semaphore exportPermits;
+
+	private TransactionTemplate readOnlyTransaction;
+
+	@PostConstruct
+	public void init() {
+		exportPermits = new Semaphore(maxConcurrentExports);
+		readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+	}
+
+	public CustomApiResponse<StreamingResponseBody> exportOrders(OrderFilter filter) {
+		if (!exportPermits.tryAcquire()) {
+			logger.warn("Rejecting order export, {} exports already running", maxConcurrentExports);
+			return CustomApiResponse.error("Too many exports running, please retry later",
+					HttpStatus.SERVICE_UNAVAILABLE);
+		}
+		StreamingResponseBody body = outputStream -> {
+			try {
+				writeOrders(filter, outputStream);
+			} finally {
+				exportPermits.release();
+			}
+		};
+		return CustomApiResponse.ok("Export started", body);
+	}
+
+	private void writeOrders(OrderFilter filter, OutputStream outputStream) throws IOException {
+		long started = System.currentTimeMillis();
+		Long exported;
+		try {
+			exported = readOnlyTransaction.execute(status -> {
+				try (Stream<Order> orders = orderRepository.streamAll(OrderSpecifications.matching(filter),
+						EXPORT_ORDER, fetchSize);
+						JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+					generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+					long count = 0;
+					List<Order> chunk = new ArrayList<>(fetchSize);
+					for (Order order : (Iterable<Order>) orders::iterator) {
+						chunk.add(order);
+						if (chunk.size() == fetchSize) {
+							count += writeChunk(chunk, generator);
+						}
+					}
+					return count + writeChunk(chunk, generator);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			logger.warn("Order export with filter {} aborted: {}", filter, e.getMessage());
+			throw e.getCause();
+		}
+		logger.info("Exported {} orders with filter {} in {} ms", exported, filter,
+				System.currentTimeMillis() - started);
+	}
+
+	// Fetches the lines of the whole chunk at once rather than lazily per order.
+	private int writeChunk(List<Order> chunk, JsonGenerator generator) throws IOException {
+		Map<Long, List<OrderLine>> lines = orderRepository
+				.findLinesByOrderIds(chunk.stream().map(Order::getId).toList());
+		for (Order order : chunk) {
+			objectMapper.writeValue(generator, OrderResponse.fromOrder(order, lines.get(order.getId())));
+			generator.writeRaw('\n');
+		}
+		generator.flush();
+		entityManager.clear();
+		int written = chunk.size();
+		chunk.clear();
+		return written;
+	}
+}
\ No newline at end of file
@@ -1,23 +1,60 @@
 package com.qurilo.order_service.service;
 
+import com.qurilo.order_service.client.ProductServiceAsyncClient;
 import com.qurilo.order_service.client.ProductServiceClient;
+import com.qurilo.order_service.client.UserServiceAsyncClient;
 import com.qurilo.order_service.client.UserServiceClient;
+import com.qurilo.order_service.config.CacheConfig;
+import com.qurilo.order_service.config.TwoLevelCacheManager;
+import com.qurilo.order_service.dto.BatchOrderItemResponse;
+import com.qurilo.order_service.dto.CheckoutRequest;
 import com.qurilo.order_service.dto.CustomApiResponse;
+import com.qurilo.order_service.dto.OrderCursor;
+import com.qurilo.order_service.dto.OrderFilter;
+import com.qurilo.order_service.dto.OrderPageResponse;
 import com.qurilo.order_service.dto.OrderRequest;
 import com.qurilo.order_service.dto.OrderResponse;
 import com.qurilo.order_service.dto.ProductResponse;
+import com.qurilo.order_service.dto.StockReservationRequest;
 import com.qurilo.order_service.dto.UserResponse;
 import com.qurilo.order_service.entity.Order;
+import com.qurilo.order_service.entity.OrderLine;
 import com.qurilo.order_service.repository.OrderRepository;
+import com.qurilo.order_service.repository.OrderSpecifications;
+import com.qurilo.order_service.utils.Deadline;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +62,8 @@ public class OrderService {
 
 	private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
 
+	private static final Sort PAGE_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
 	@Autowired
 	private OrderRepository orderRepository;
 
@@ -35,80 +74,664 @@ public class OrderService {
 	private UserServiceClient userServiceClient;
 
 	@Autowired
-	private EmailService emailService;
+	private OutboxService outboxService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private TwoLevelCacheManager cacheManager;
+
+	@Autowired
+	@Qualifier("cacheExecutor")
+	private ThreadPoolTaskExecutor cacheExecutor;
+
+	@Autowired
+	@Qualifier("orderLookupExecutor")
+	private ThreadPoolTaskExecutor orderLookupExecutor;
+
+	@Autowired
+	private ProductServiceAsyncClient productServiceAsyncClient;
+
+	@Autowired
+	private UserServiceAsyncClient userServiceAsyncClient;
+
+	@Autowired
+	@Qualifier("orderPersistenceExecutor")
+	private ThreadPoolTaskExecutor orderPersistenceExecutor;
+
+	@Autowired
+	@Qualifier("orderProcessingExecutor")
+	private ThreadPoolTaskExecutor orderProcessingExecutor;
+
+	@Value("${orders.lookup.timeout:5s}")
+	private Duration lookupTimeout;
+
+	@Value("${orders.page.default-size:50}")
+	private int defaultPageSize;
+
+	@Value("${orders.page.max-size:200}")
+	private int maxPageSize;
+
+	@Value("${orders.async.pending-timeout:15m}")
+	private Duration pendingTimeout;
 
-	@Transactional
 	public CustomApiResponse<OrderResponse> processOrder(OrderRequest request) {
+		return placeOrder(request, null);
+	}
+
+	/**
+	 * Accepts an order without waiting on the user and product services: a PENDING order is
+	 * stored and the usual processing runs on the bounded order processing executor. When its
+	 * queue is full the order is dropped again and the caller gets 503, so bursts are shed at
+	 * the door instead of piling up as PENDING orders that can't be processed in time.
+	 */
+	public CustomApiResponse<OrderResponse> acceptOrder(OrderRequest request) {
+		try {
+			Order pendingOrder = orderRepository
+					.save(new Order(request.getUserId(), request.getProductId(), request.getQuantity()));
+			OrderResponse orderResponse = OrderResponse.fromOrder(pendingOrder);
+
+			try {
+				orderProcessingExecutor.execute(() -> completePendingOrder(pendingOrder, request));
+			} catch (TaskRejectedException e) {
+				logger.warn("Order processing queue full, rejecting order for user: {}", request.getUserId());
+				orderRepository.deleteById(pendingOrder.getId());
+				return CustomApiResponse.error("Order service is busy, please retry", HttpStatus.SERVICE_UNAVAILABLE);
+			}
+
+			logger.info("Order {} accepted for asynchronous processing", pendingOrder.getId());
+			return new CustomApiResponse<>(true, "Order accepted for processing", orderResponse, HttpStatus.ACCEPTED);
+
+		} catch (Exception e) {
+			logger.error("Error accepting order: {}", e.getMessage(), e);
+			return CustomApiResponse.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	public CustomApiResponse<OrderResponse> getOrder(Long orderId) {
+		try {
+			return orderRepository.findById(orderId)
+					.map(order -> CustomApiResponse.ok("Order retrieved successfully", OrderResponse.fromOrder(order)))
+					.orElseGet(() -> CustomApiResponse.error("Order not found", HttpStatus.NOT_FOUND));
+		} catch (Exception e) {
+			logger.error("Error retrieving order {}: {}", orderId, e.getMessage(), e);
+			return CustomApiResponse.error("Error retrieving order", HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Fails orders that stayed PENDING past the timeout, e.g. because the instance processing
+	 * them went down, so clients polling their status get a final answer.
+	 */
+	@Scheduled(fixedDelayString = "${orders.async.pending-sweep-interval:1m}")
+	public void failStalePendingOrders() {
+		try {
+			LocalDateTime now = LocalDateTime.now();
+			Integer failed = transactionTemplate.execute(status -> orderRepository
+					.failPendingOrdersCreatedBefore(now.minus(pendingTimeout), "Order processing timed out", now));
+			if (failed != null && failed > 0) {
+				logger.warn("Marked {} orders pending for more than {} as failed", failed, pendingTimeout);
+			}
+		} catch (Exception e) {
+			logger.error("Failed to sweep stale pending orders: {}", e.getMessage(), e);
+		}
+	}
+
+	private void completePendingOrder(Order pendingOrder, OrderRequest request) {
+		CustomApiResponse<OrderResponse> response = placeOrder(request, pendingOrder);
+		if (response.isSuccess()) {
+			return;
+		}
+		try {
+			transactionTemplate.executeWithoutResult(status -> orderRepository.findById(pendingOrder.getId())
+					.filter(order -> order.getStatus() == Order.OrderStatus.PENDING).ifPresent(order -> {
+						order.fail(response.getMessage());
+						orderRepository.save(order);
+					}));
+			logger.info("Order {} failed: {}", pendingOrder.getId(), response.getMessage());
+		} catch (Exception e) {
+			logger.error("Failed to mark order {} as failed: {}", pendingOrder.getId(), e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Places a single-product order. With a pending order, that order is confirmed in place
+	 * instead of inserting a new one.
+	 */
+	private CustomApiResponse<OrderResponse> placeOrder(OrderRequest request, Order pendingOrder) {
 		try {
 			logger.info("Processing order for user: {} and product: {} with quantity: {}", request.getUserId(),
 					request.getProductId(), request.getQuantity());
 
-			CustomApiResponse<UserResponse> userVerificationResponse = userServiceClient
-					.getUserById(request.getUserId());
+			CompletableFuture<CustomApiResponse<UserResponse>> userLookup;
+			CompletableFuture<CustomApiResponse<ProductResponse>> productLookup;
+			try {
+				userLookup = lookupAsync(() -> userServiceClient.getUserById(request.getUserId()));
+				productLookup = lookupAsync(() -> productServiceClient.getProductById(request.getProductId()));
+			} catch (TaskRejectedException e) {
+				logger.warn("Order lookup executor saturated, rejecting order for user: {}", request.getUserId());
+				return CustomApiResponse.error("Order service is busy, please retry", HttpStatus.SERVICE_UNAVAILABLE);
+			}
 
-			if (!userVerificationResponse.isSuccess()) {
-				logger.warn("User verification failed for user ID: {} - {}", request.getUserId(),
-						userVerificationResponse.getMessage());
-				return CustomApiResponse.error("Invalid user: " + userVerificationResponse.getMessage(),
-						userVerificationResponse.getStatus());
+			cancelAllOnFailure(List.of(userLookup, productLookup));
+
+			if (!awaitLookups(lookupTimeout, userLookup, productLookup)) {
+				logger.error("Timed out after {} verifying user: {} and product: {}", lookupTimeout,
+						request.getUserId(), request.getProductId());
+				return CustomApiResponse.error("Timed out verifying user and product", HttpStatus.GATEWAY_TIMEOUT);
+			}
+
+			CustomApiResponse<UserResponse> userVerificationResponse = lookupResult(userLookup);
+			CustomApiResponse<ProductResponse> productResponse = lookupResult(productLookup);
+
+			CustomApiResponse<OrderResponse> rejection = rejectLookups(request, userVerificationResponse,
+					productResponse);
+			if (rejection != null) {
+				return rejection;
+			}
+
+			// The cached lookup only rejects unknown products; the reservation below is the
+			// authoritative stock check and decrement, so stale cached stock can't oversell.
+			CustomApiResponse<ProductResponse> reservationResponse = productServiceClient
+					.reserveProductStock(request.getProductId(), request.getQuantity());
+
+			rejection = rejectReservation(request, reservationResponse);
+			if (rejection != null) {
+				return rejection;
+			}
+
+			OrderResponse orderResponse;
+			try {
+				orderResponse = saveConfirmedOrder(request, pendingOrder, userVerificationResponse.getData(),
+						reservationResponse.getData());
+			} catch (Exception e) {
+				logger.error("Failed to save order, releasing reserved stock for product: {}", request.getProductId());
+				releaseStock(pendingOrder == null ? null : pendingOrder.getId(), request.getProductId(),
+						request.getQuantity());
+				throw e;
+			}
+			if (orderResponse == null) {
+				logger.warn("Order {} was failed by the stale-order sweep before it was confirmed, releasing reserved stock",
+						pendingOrder.getId());
+				releaseStock(pendingOrder.getId(), request.getProductId(), request.getQuantity());
+				return CustomApiResponse.error("Order processing timed out", HttpStatus.GATEWAY_TIMEOUT);
 			}
+			clearProductCache(request.getProductId());
+			return new CustomApiResponse<>(true, "Order processed successfully", orderResponse, HttpStatus.CREATED);
+
+		} catch (Exception e) {
+			logger.error("Error processing order: {}", e.getMessage(), e);
+			return CustomApiResponse.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Non-blocking variant of {@link #processOrder}: the user and product lookups and the stock
+	 * reservation are composed on futures, so no thread waits on the other services while
+	 * they are in flight. Only the insert takes a thread, on the persistence executor that is
+	 * sized to the connection pool.
+	 */
+	public CompletableFuture<CustomApiResponse<OrderResponse>> processOrderNonBlocking(OrderRequest request) {
+		logger.info("Processing order without blocking for user: {} and product: {} with quantity: {}",
+				request.getUserId(), request.getProductId(), request.getQuantity());
 
-			logger.info("User verification successful for user ID: {}", request.getUserId());
+		// Continuations run on the HTTP client's threads, so the deadline is re-bound for the reservation.
+		Deadline deadline = Deadline.current();
+		CompletableFuture<CustomApiResponse<UserResponse>> userLookup = userServiceAsyncClient
+				.getUserById(request.getUserId());
+		CompletableFuture<CustomApiResponse<ProductResponse>> productLookup = productServiceAsyncClient
+				.getProductById(request.getProductId());
 
-			CustomApiResponse<ProductResponse> productResponse = productServiceClient
-					.getProductById(request.getProductId());
+		return CompletableFuture.allOf(userLookup, productLookup)
+				.orTimeout(Deadline.cap(lookupTimeout).toNanos(), TimeUnit.NANOSECONDS)
+				.thenCompose(lookups -> {
+					CustomApiResponse<UserResponse> userResponse = userLookup.join();
+					CustomApiResponse<OrderResponse> rejection = rejectLookups(request, userResponse,
+							productLookup.join());
+					if (rejection != null) {
+						return CompletableFuture.completedFuture(rejection);
+					}
+					return Deadline.callWith(deadline, () -> productServiceAsyncClient
+							.reserveProductStock(request.getProductId(), request.getQuantity()))
+							.thenCompose(reservation -> {
+								CustomApiResponse<OrderResponse> rejected = rejectReservation(request, reservation);
+								if (rejected != null) {
+									return CompletableFuture.completedFuture(rejected);
+								}
+								return saveReservedOrder(request, userResponse.getData(), reservation.getData());
+							});
+				}).exceptionally(error -> {
+					Throwable cause = error instanceof CompletionException && error.getCause() != null
+							? error.getCause() : error;
+					if (cause instanceof TimeoutException) {
+						logger.error("Timed out after {} verifying user: {} and product: {}", lookupTimeout,
+								request.getUserId(), request.getProductId());
+						return CustomApiResponse.error("Timed out verifying user and product", HttpStatus.GATEWAY_TIMEOUT);
+					}
+					logger.error("Error processing order: {}", cause.getMessage(), cause);
+					return CustomApiResponse.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR);
+				});
+	}
 
-			if (!productResponse.isSuccess() || productResponse.getData() == null) {
-				logger.warn("Product not found: {}", request.getProductId());
-				return CustomApiResponse.error("Product not found", HttpStatus.NOT_FOUND);
+	private CompletableFuture<CustomApiResponse<OrderResponse>> saveReservedOrder(OrderRequest request,
+			UserResponse user, ProductResponse product) {
+		CompletableFuture<OrderResponse> saved;
+		try {
+			saved = CompletableFuture.supplyAsync(() -> saveConfirmedOrder(request, null, user, product),
+					orderPersistenceExecutor);
+		} catch (TaskRejectedException e) {
+			saved = CompletableFuture.failedFuture(e);
+		}
+		return saved.handle((orderResponse, error) -> {
+			if (error != null) {
+				Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause()
+						: error;
+				logger.error("Failed to save order, releasing reserved stock for product: {}", request.getProductId(),
+						cause);
+				releaseStockAsync(request.getProductId(), request.getQuantity());
+				if (cause instanceof TaskRejectedException) {
+					return CustomApiResponse.error("Order service is busy, please retry", HttpStatus.SERVICE_UNAVAILABLE);
+				}
+				return CustomApiResponse.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR);
 			}
+			clearProductCacheAsync(request.getProductId());
+			return new CustomApiResponse<>(true, "Order processed successfully", orderResponse, HttpStatus.CREATED);
+		});
+	}
+
+	/**
+	 * Returns the response for an order that can't go ahead because the user or product
+	 * lookup failed, or null when both succeeded. A null lookup means it never completed.
+	 */
+	private CustomApiResponse<OrderResponse> rejectLookups(OrderRequest request,
+			CustomApiResponse<UserResponse> userVerificationResponse, CustomApiResponse<ProductResponse> productResponse) {
+		if (userVerificationResponse != null && !userVerificationResponse.isSuccess()) {
+			logger.warn("User verification failed for user ID: {} - {}", request.getUserId(),
+					userVerificationResponse.getMessage());
+			return CustomApiResponse.error("Invalid user: " + userVerificationResponse.getMessage(),
+					userVerificationResponse.getStatus());
+		}
+
+		if (productResponse != null && (!productResponse.isSuccess() || productResponse.getData() == null)) {
+			logger.warn("Product not found: {}", request.getProductId());
+			return CustomApiResponse.error("Product not found", HttpStatus.NOT_FOUND);
+		}
+
+		if (userVerificationResponse == null || productResponse == null) {
+			logger.error("User or product lookup did not complete for order: {}", request);
+			return CustomApiResponse.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR);
+		}
 
-			ProductResponse product = productResponse.getData();
+		logger.info("User verification successful for user ID: {}", request.getUserId());
+		return null;
+	}
 
-			if (product.getProductStockQuantity() < request.getQuantity()) {
-				logger.warn("Insufficient stock for product: {}. Available: {}, Required: {}", request.getProductId(),
-						product.getProductStockQuantity(), request.getQuantity());
+	private CustomApiResponse<OrderResponse> rejectReservation(OrderRequest request,
+			CustomApiResponse<ProductResponse> reservationResponse) {
+		if (!reservationResponse.isSuccess() || reservationResponse.getData() == null) {
+			if (reservationResponse.getStatus() == HttpStatus.CONFLICT) {
+				logger.warn("Insufficient stock for product: {}. Required: {}", request.getProductId(),
+						request.getQuantity());
 				return CustomApiResponse.error("Insufficient Stock", HttpStatus.BAD_REQUEST);
 			}
+			logger.error("Failed to reserve stock for product: {} - {}", request.getProductId(),
+					reservationResponse.getMessage());
+			return CustomApiResponse.error(reservationResponse.getMessage(), reservationResponse.getStatus());
+		}
+
+		logger.info("Reserved {} units of product: {}, remaining stock: {}", request.getQuantity(),
+				request.getProductId(), reservationResponse.getData().getProductStockQuantity());
+		return null;
+	}
 
+	// With a pending order, that order is confirmed in place instead of inserting a new one.
+	private OrderResponse saveConfirmedOrder(OrderRequest request, Order pendingOrder, UserResponse user,
+			ProductResponse product) {
+		OrderResponse orderResponse;
+		if (pendingOrder == null) {
 			Order order = new Order(request.getUserId(), request.getProductId(), product.getProductName(),
 					request.getQuantity(), product.getProductPrice(), Order.OrderStatus.CONFIRMED);
-			Order savedOrder = orderRepository.save(order);
-			logger.info("Order created successfully with ID: {}", savedOrder.getId());
-			Integer newStockQuantity = product.getProductStockQuantity() - request.getQuantity();
-			CustomApiResponse<ProductResponse> stockUpdateResponse = productServiceClient
-					.updateProductStock(request.getProductId(), newStockQuantity);
-			if (!stockUpdateResponse.isSuccess()) {
-				logger.error("Failed to update product stock for order: {}", savedOrder.getId());
-			} else {
-				logger.info("Product stock updated successfully for order: {}", savedOrder.getId());
+			orderResponse = saveConfirmedOrders(List.of(order), userId -> user).get(0);
+		} else {
+			pendingOrder.confirm(product.getProductName(), product.getProductPrice());
+			orderResponse = confirmPendingOrder(pendingOrder, user);
+			if (orderResponse == null) {
+				return null;
 			}
-			clearProductCache(request.getProductId());
-			OrderResponse orderResponse = OrderResponse.fromOrder(savedOrder);
-			UserResponse user = userVerificationResponse.getData();
-			emailService.sendOrderConfirmationEmail(user, orderResponse);
+		}
+		logger.info("Order created successfully with ID: {}", orderResponse.getId());
+		return orderResponse;
+	}
+
+	/**
+	 * Processes a batch of orders in one pass: every distinct user and product is looked up
+	 * once, stock is reserved once per product for the summed quantity, and all orders are
+	 * inserted together. Each order gets its own result, so one bad line doesn't fail the
+	 * rest of the batch.
+	 */
+	public CustomApiResponse<List<BatchOrderItemResponse>> processOrders(List<OrderRequest> requests) {
+		try {
+			logger.info("Processing batch of {} orders", requests.size());
+
+			Map<Long, CompletableFuture<CustomApiResponse<UserResponse>>> userLookups = new HashMap<>();
+			Map<String, CompletableFuture<CustomApiResponse<ProductResponse>>> productLookups = new HashMap<>();
+			try {
+				for (OrderRequest request : requests) {
+					userLookups.computeIfAbsent(request.getUserId(),
+							userId -> lookupAsync(() -> userServiceClient.getUserById(userId)));
+					productLookups.computeIfAbsent(request.getProductId(),
+							productId -> lookupAsync(() -> productServiceClient.getProductById(productId)));
+				}
+			} catch (TaskRejectedException e) {
+				userLookups.values().forEach(lookup -> lookup.cancel(true));
+				productLookups.values().forEach(lookup -> lookup.cancel(true));
+				logger.warn("Order lookup executor saturated, rejecting batch of {} orders", requests.size());
+				return CustomApiResponse.error("Order service is busy, please retry", HttpStatus.SERVICE_UNAVAILABLE);
+			}
+			logger.info("Batch of {} orders resolved to {} distinct users and {} distinct products", requests.size(),
+					userLookups.size(), productLookups.size());
+
+			List<CompletableFuture<?>> lookups = new ArrayList<>(userLookups.values());
+			lookups.addAll(productLookups.values());
+			if (!awaitLookups(lookupTimeout, lookups.toArray(CompletableFuture[]::new))) {
+				logger.error("Timed out after {} verifying users and products for batch", lookupTimeout);
+				return CustomApiResponse.error("Timed out verifying users and products", HttpStatus.GATEWAY_TIMEOUT);
+			}
+
+			BatchOrderItemResponse[] results = new BatchOrderItemResponse[requests.size()];
+			Map<String, List<Integer>> itemsByProduct = new LinkedHashMap<>();
+			for (int i = 0; i < requests.size(); i++) {
+				OrderRequest request = requests.get(i);
+				CustomApiResponse<UserResponse> user = lookupResult(userLookups.get(request.getUserId()));
+				CustomApiResponse<ProductResponse> product = lookupResult(productLookups.get(request.getProductId()));
+
+				if (user == null || !user.isSuccess()) {
+					results[i] = user == null
+							? BatchOrderItemResponse.failed(i, "User verification failed", HttpStatus.INTERNAL_SERVER_ERROR)
+							: BatchOrderItemResponse.failed(i, "Invalid user: " + user.getMessage(), user.getStatus());
+				} else if (product == null || !product.isSuccess() || product.getData() == null) {
+					results[i] = BatchOrderItemResponse.failed(i, "Product not found", HttpStatus.NOT_FOUND);
+				} else {
+					itemsByProduct.computeIfAbsent(request.getProductId(), productId -> new ArrayList<>()).add(i);
+				}
+			}
+
+			Map<String, CompletableFuture<Map<Integer, CustomApiResponse<ProductResponse>>>> reservations = new LinkedHashMap<>();
+			itemsByProduct.forEach((productId, items) -> {
+				Supplier<Map<Integer, CustomApiResponse<ProductResponse>>> reservation = () -> reserveForItems(productId,
+						items, requests);
+				try {
+					// Not lookupAsync: a reservation must never be interrupted once it may have been sent.
+					reservations.put(productId, CompletableFuture.supplyAsync(reservation, orderLookupExecutor));
+				} catch (TaskRejectedException e) {
+					// Reservations are writes and must not be dropped; run them on the caller instead.
+					reservations.put(productId, CompletableFuture.supplyAsync(reservation, Runnable::run));
+				}
+			});
+
+			// Every reservation that succeeded is recorded here as soon as it is seen, so that if
+			// anything below fails, all of it is handed back and none of it leaks.
+			Map<String, Integer> reservedStock = new LinkedHashMap<>();
+			Set<String> seenReservations = new HashSet<>();
+			List<Order> orders = new ArrayList<>();
+			List<Integer> orderItems = new ArrayList<>();
+			List<OrderResponse> savedOrders;
+			try {
+				for (Map.Entry<String, CompletableFuture<Map<Integer, CustomApiResponse<ProductResponse>>>> reservation : reservations
+						.entrySet()) {
+					seenReservations.add(reservation.getKey());
+					Map<Integer, CustomApiResponse<ProductResponse>> reservationResponses;
+					try {
+						reservationResponses = reservation.getValue().join();
+					} catch (CompletionException | CancellationException e) {
+						logger.error("Failed to reserve stock for product {} in batch: {}", reservation.getKey(),
+								e.getMessage());
+						for (Integer i : itemsByProduct.get(reservation.getKey())) {
+							results[i] = BatchOrderItemResponse.failed(i, "Error reserving stock",
+									HttpStatus.INTERNAL_SERVER_ERROR);
+						}
+						continue;
+					}
+					reservationResponses.forEach((i, reservationResponse) -> {
+						OrderRequest request = requests.get(i);
+						if (reservationResponse.isSuccess() && reservationResponse.getData() != null) {
+							reservedStock.merge(request.getProductId(), request.getQuantity(), Integer::sum);
+							ProductResponse product = reservationResponse.getData();
+							orders.add(new Order(request.getUserId(), request.getProductId(), product.getProductName(),
+									request.getQuantity(), product.getProductPrice(), Order.OrderStatus.CONFIRMED));
+							orderItems.add(i);
+						} else if (reservationResponse.getStatus() == HttpStatus.CONFLICT) {
+							results[i] = BatchOrderItemResponse.failed(i, "Insufficient Stock", HttpStatus.BAD_REQUEST);
+						} else {
+							results[i] = BatchOrderItemResponse.failed(i, reservationResponse.getMessage(),
+									reservationResponse.getStatus());
+						}
+					});
+				}
+
+				savedOrders = saveConfirmedOrders(orders,
+						userId -> lookupResult(userLookups.get(userId)).getData());
+			} catch (Exception e) {
+				logger.error("Failed to save batch of {} orders, releasing reserved stock", orders.size());
+				reservations.forEach((productId, reservation) -> {
+					if (seenReservations.add(productId)) {
+						reservedStock.merge(productId, reservedQuantity(reservation, requests), Integer::sum);
+					}
+				});
+				List<StockReservationRequest.Item> releaseItems = reservedStock.entrySet().stream()
+						.filter(entry -> entry.getValue() > 0)
+						.map(entry -> new StockReservationRequest.Item(entry.getKey(), entry.getValue())).toList();
+				if (!releaseItems.isEmpty()) {
+					releaseStock(null, releaseItems);
+				}
+				throw e;
+			}
+			logger.info("Batch created {} of {} orders", savedOrders.size(), requests.size());
+
+			for (int k = 0; k < savedOrders.size(); k++) {
+				int i = orderItems.get(k);
+				results[i] = BatchOrderItemResponse.created(i, savedOrders.get(k));
+			}
+			reservations.keySet().forEach(this::clearProductCache);
+
+			boolean allCreated = savedOrders.size() == requests.size();
+			String message = String.format("%d of %d orders processed successfully", savedOrders.size(),
+					requests.size());
+			return new CustomApiResponse<>(allCreated, message, Arrays.asList(results),
+					allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS);
+
+		} catch (Exception e) {
+			logger.error("Error processing order batch: {}", e.getMessage(), e);
+			return CustomApiResponse.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	// Units a batch reservation took, for releasing it; a reservation that failed took none.
+	private static int reservedQuantity(CompletableFuture<Map<Integer, CustomApiResponse<ProductResponse>>> reservation,
+			List<OrderRequest> requests) {
+		try {
+			return reservation.join().entrySet().stream()
+					.filter(entry -> entry.getValue().isSuccess() && entry.getValue().getData() != null)
+					.mapToInt(entry -> requests.get(entry.getKey()).getQuantity()).sum();
+		} catch (CompletionException | CancellationException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Reserves stock for all batch items of one product with a single call. If the product
+	 * can't cover the whole batch, falls back to reserving item by item in request order so
+	 * as many orders as possible still go through.
+	 */
+	private Map<Integer, CustomApiResponse<ProductResponse>> reserveForItems(String productId, List<Integer> items,
+			List<OrderRequest> requests) {
+		Map<Integer, CustomApiResponse<ProductResponse>> reservations = new LinkedHashMap<>();
+		int totalQuantity = items.stream().mapToInt(i -> requests.get(i).getQuantity()).sum();
+		CustomApiResponse<ProductResponse> aggregate = productServiceClient.reserveProductStock(productId,
+				totalQuantity);
+
+		if (aggregate.getStatus() != HttpStatus.CONFLICT || items.size() == 1) {
+			items.forEach(i -> reservations.put(i, aggregate));
+			return reservations;
+		}
+
+		logger.info("Not enough stock of product {} for {} batched units, reserving per order", productId,
+				totalQuantity);
+		for (Integer i : items) {
+			reservations.put(i, productServiceClient.reserveProductStock(productId, requests.get(i).getQuantity()));
+		}
+		return reservations;
+	}
+
+	/**
+	 * Checks out a multi-product cart as one order with a line per product. The user and all
+	 * products are validated in parallel, stock for every line is reserved with a single
+	 * all-or-nothing call, and the header and its lines are written in one transaction.
+	 */
+	public CustomApiResponse<OrderResponse> checkout(CheckoutRequest request) {
+		try {
+			Map<String, Integer> quantities = new LinkedHashMap<>();
+			request.getItems().forEach(
+					item -> quantities.merge(item.getProductId().trim(), item.getQuantity(), Integer::sum));
+			logger.info("Processing checkout for user: {} with {} products", request.getUserId(), quantities.size());
+
+			Map<String, CompletableFuture<CustomApiResponse<ProductResponse>>> productLookups = new LinkedHashMap<>();
+			CompletableFuture<CustomApiResponse<UserResponse>> userLookup;
+			try {
+				userLookup = lookupAsync(() -> userServiceClient.getUserById(request.getUserId()));
+				quantities.keySet().forEach(productId -> productLookups.put(productId,
+						lookupAsync(() -> productServiceClient.getProductById(productId))));
+			} catch (TaskRejectedException e) {
+				productLookups.values().forEach(lookup -> lookup.cancel(true));
+				logger.warn("Order lookup executor saturated, rejecting checkout for user: {}", request.getUserId());
+				return CustomApiResponse.error("Order service is busy, please retry", HttpStatus.SERVICE_UNAVAILABLE);
+			}
+
+			List<CompletableFuture<? extends CustomApiResponse<?>>> lookups = new ArrayList<>(productLookups.values());
+			lookups.add(userLookup);
+			cancelAllOnFailure(lookups);
+
+			if (!awaitLookups(lookupTimeout, lookups.toArray(CompletableFuture[]::new))) {
+				logger.error("Timed out after {} verifying checkout for user: {}", lookupTimeout, request.getUserId());
+				return CustomApiResponse.error("Timed out verifying user and products", HttpStatus.GATEWAY_TIMEOUT);
+			}
+
+			CustomApiResponse<UserResponse> userVerificationResponse = lookupResult(userLookup);
+			if (userVerificationResponse != null && !userVerificationResponse.isSuccess()) {
+				logger.warn("User verification failed for user ID: {} - {}", request.getUserId(),
+						userVerificationResponse.getMessage());
+				return CustomApiResponse.error("Invalid user: " + userVerificationResponse.getMessage(),
+						userVerificationResponse.getStatus());
+			}
+
+			boolean allProductsResolved = true;
+			for (Map.Entry<String, CompletableFuture<CustomApiResponse<ProductResponse>>> lookup : productLookups
+					.entrySet()) {
+				CustomApiResponse<ProductResponse> productResponse = lookupResult(lookup.getValue());
+				if (productResponse == null) {
+					allProductsResolved = false;
+				} else if (!productResponse.isSuccess() || productResponse.getData() == null) {
+					logger.warn("Product not found: {}", lookup.getKey());
+					return CustomApiResponse.error("Product not found: " + lookup.getKey(), HttpStatus.NOT_FOUND);
+				}
+			}
+
+			if (userVerificationResponse == null || !allProductsResolved) {
+				logger.error("User or product lookup did not complete for checkout: {}", request);
+				return CustomApiResponse.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR);
+			}
+
+			List<StockReservationRequest.Item> reservationItems = quantities.entrySet().stream()
+					.map(entry -> new StockReservationRequest.Item(entry.getKey(), entry.getValue())).toList();
+			CustomApiResponse<List<ProductResponse>> reservationResponse = productServiceClient
+					.reserveProductsStock(reservationItems);
+
+			if (!reservationResponse.isSuccess() || reservationResponse.getData() == null) {
+				if (reservationResponse.getStatus() == HttpStatus.CONFLICT) {
+					logger.warn("Insufficient stock for checkout of user: {}", request.getUserId());
+					return CustomApiResponse.error("Insufficient Stock", HttpStatus.BAD_REQUEST);
+				}
+				logger.error("Failed to reserve stock for checkout of user: {} - {}", request.getUserId(),
+						reservationResponse.getMessage());
+				return CustomApiResponse.error(reservationResponse.getMessage(), reservationResponse.getStatus());
+			}
+
+			Map<String, ProductResponse> reservedProducts = reservationResponse.getData().stream()
+					.collect(Collectors.toMap(ProductResponse::getId, Function.identity()));
+			List<OrderLine> lines = quantities.entrySet().stream().map(entry -> {
+				ProductResponse product = reservedProducts.getOrDefault(entry.getKey(),
+						lookupResult(productLookups.get(entry.getKey())).getData());
+				return new OrderLine(entry.getKey(), product.getProductName(), entry.getValue(),
+						product.getProductPrice());
+			}).toList();
+
+			OrderResponse orderResponse;
+			try {
+				orderResponse = saveConfirmedOrders(List.of(new Order(request.getUserId(), lines, Order.OrderStatus.CONFIRMED)),
+						userId -> userVerificationResponse.getData()).get(0);
+			} catch (Exception e) {
+				logger.error("Failed to save checkout order, releasing reserved stock for user: {}",
+						request.getUserId());
+				releaseStock(null, reservationItems);
+				throw e;
+			}
+			logger.info("Checkout order created successfully with ID: {} and {} lines", orderResponse.getId(),
+					lines.size());
+
+			quantities.keySet().forEach(this::clearProductCache);
 			return new CustomApiResponse<>(true, "Order processed successfully", orderResponse, HttpStatus.CREATED);
 
 		} catch (Exception e) {
-			logger.error("Error processing order: {}", e.getMessage(), e);
+			logger.error("Error processing checkout: {}", e.getMessage(), e);
 			return CustomApiResponse.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
 
-	public CustomApiResponse<List<OrderResponse>> getOrders(String searchTerm) {
+	/**
+	 * Lists orders newest first, one page at a time. Pages are keyed on (createdAt, id) rather
+	 * than an offset, so each page is a bounded index range scan no matter how deep the client
+	 * has paged, and orders created meanwhile don't shift rows between pages.
+	 */
+	public CustomApiResponse<OrderPageResponse> getOrders(String searchTerm, OrderFilter filter, String cursor,
+			Integer size) {
 		try {
-			List<Order> orders;
+			int pageSize = size == null ? defaultPageSize : size;
+			if (pageSize < 1 || pageSize > maxPageSize) {
+				return CustomApiResponse.error("Page size must be between 1 and " + maxPageSize,
+						HttpStatus.BAD_REQUEST);
+			}
 
-			if (searchTerm == null || searchTerm.trim().isEmpty()) {
-				orders = orderRepository.findAll();
-			} else {
-				orders = orderRepository.searchOrders(searchTerm.trim());
+			Specification<Order> specification = OrderSpecifications.matching(filter);
+			if (searchTerm != null && !searchTerm.trim().isEmpty()) {
+				try {
+					specification = specification.and(OrderSpecifications.searching(searchTerm.trim()));
+				} catch (IllegalArgumentException e) {
+					return CustomApiResponse.error(e.getMessage(), HttpStatus.BAD_REQUEST);
+				}
+			}
+			if (cursor != null && !cursor.isBlank()) {
+				try {
+					specification = specification.and(OrderSpecifications.after(OrderCursor.decode(cursor)));
+				} catch (IllegalArgumentException e) {
+					return CustomApiResponse.error("Invalid cursor", HttpStatus.BAD_REQUEST);
+				}
+			}
+
+			// One extra row tells whether another page follows without a count query.
+			List<Order> orders = orderRepository.findBy(specification,
+					query -> query.sortBy(PAGE_ORDER).limit(pageSize + 1).all());
+			String nextCursor = null;
+			if (orders.size() > pageSize) {
+				orders = orders.subList(0, pageSize);
+				nextCursor = OrderCursor.after(orders.get(pageSize - 1)).encode();
 			}
 
 			List<OrderResponse> orderResponses = orders.stream().map(OrderResponse::fromOrder)
 					.collect(Collectors.toList());
 
-			return new CustomApiResponse<>(true, "Orders retrieved successfully", orderResponses, HttpStatus.OK);
+			return new CustomApiResponse<>(true, "Orders retrieved successfully",
+					new OrderPageResponse(orderResponses, nextCursor), HttpStatus.OK);
 
 		} catch (Exception e) {
 			logger.error("Error retrieving orders: {}", e.getMessage(), e);
@@ -116,8 +739,165 @@ public class OrderService {
 		}
 	}
 
-	@CacheEvict(value = "products", key = "#productId")
-	public void clearProductCache(String productId) {
+	/**
+	 * Inserts confirmed orders together with their confirmation emails in one short local
+	 * transaction. Remote calls all happen before this point, so no database connection is
+	 * held while waiting on other services; the emails go out from the outbox after commit.
+	 * Responses are built inside the transaction so lazy lines load on any thread.
+	 */
+	private List<OrderResponse> saveConfirmedOrders(List<Order> orders, Function<Long, UserResponse> userById) {
+		return transactionTemplate.execute(status -> {
+			List<OrderResponse> savedOrders = new ArrayList<>(orders.size());
+			for (Order savedOrder : orderRepository.saveAll(orders)) {
+				OrderResponse orderResponse = OrderResponse.fromOrder(savedOrder);
+				outboxService.enqueueOrderConfirmation(userById.apply(savedOrder.getUserId()), orderResponse);
+				savedOrders.add(orderResponse);
+			}
+			return savedOrders;
+		});
+	}
+
+	/**
+	 * Confirms a pending order together with its confirmation email, but only while it is still
+	 * pending. The stale-order sweep may have failed it in the meantime; merging the detached
+	 * order would silently overwrite that, so this returns null instead and leaves it failed.
+	 */
+	private OrderResponse confirmPendingOrder(Order pendingOrder, UserResponse user) {
+		return transactionTemplate.execute(status -> {
+			LocalDateTime now = LocalDateTime.now();
+			int confirmed = orderRepository.confirmPendingOrder(pendingOrder.getId(), pendingOrder.getProductName(),
+					pendingOrder.getUnitPrice(), pendingOrder.getTotalPrice(), now);
+			if (confirmed == 0) {
+				return null;
+			}
+			pendingOrder.setUpdatedAt(now);
+			OrderResponse orderResponse = OrderResponse.fromOrder(pendingOrder);
+			outboxService.enqueueOrderConfirmation(user, orderResponse);
+			return orderResponse;
+		});
+	}
+
+	/**
+	 * Gives reserved stock back to product-service. A release that fails for any reason
+	 * other than a rejected request is handed to the outbox, which keeps retrying it, so a
+	 * product-service outage can't leave the stock of an order that was never saved reserved.
+	 */
+	private void releaseStock(Long orderId, List<StockReservationRequest.Item> items) {
+		CustomApiResponse<List<ProductResponse>> release = productServiceClient.releaseProductsStock(items);
+		if (!release.isSuccess()) {
+			queueStockRelease(orderId, items, release);
+		}
+	}
+
+	private void releaseStock(Long orderId, String productId, Integer quantity) {
+		CustomApiResponse<ProductResponse> release = productServiceClient.releaseProductStock(productId, quantity);
+		if (!release.isSuccess()) {
+			queueStockRelease(orderId, List.of(new StockReservationRequest.Item(productId, quantity)), release);
+		}
+	}
+
+	// The outbox write is a blocking insert, so it is kept off the HTTP client's threads.
+	private void releaseStockAsync(String productId, Integer quantity) {
+		productServiceAsyncClient.releaseProductStock(productId, quantity).thenAcceptAsync(release -> {
+			if (!release.isSuccess()) {
+				queueStockRelease(null, List.of(new StockReservationRequest.Item(productId, quantity)), release);
+			}
+		}, orderPersistenceExecutor).exceptionally(error -> {
+			logger.error("Failed to queue release of {} units of product {}, the stock stays reserved: {}", quantity,
+					productId, error.getMessage());
+			return null;
+		});
+	}
+
+	private void queueStockRelease(Long orderId, List<StockReservationRequest.Item> items,
+			CustomApiResponse<?> release) {
+		if (release.getStatus() != null && release.getStatus().is4xxClientError()) {
+			logger.error("Product service rejected release of {}: {}", items, release.getMessage());
+			return;
+		}
+		try {
+			outboxService.enqueueStockRelease(orderId, items);
+			logger.warn("Release of {} failed ({}), queued for retry", items, release.getMessage());
+		} catch (Exception e) {
+			logger.error("Failed to queue release of {}, the stock stays reserved: {}", items, e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Runs a read-only lookup on the lookup executor. Like RequestHedger's calls, it runs as a
+	 * FutureTask, so cancelling the returned future interrupts the thread: a lookup waiting on
+	 * a coalesced or batched result or sleeping between retries gives up at once. A socket read
+	 * already in progress is not interruptible and runs until its own timeout.
+	 */
+	private <T> CompletableFuture<T> lookupAsync(Supplier<T> lookup) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		FutureTask<Void> task = new FutureTask<>(() -> {
+			try {
+				result.complete(lookup.get());
+			} catch (Throwable e) {
+				result.completeExceptionally(e);
+			}
+		}, null);
+		result.whenComplete((value, error) -> {
+			if (result.isCancelled()) {
+				task.cancel(true);
+			}
+		});
+		orderLookupExecutor.execute(task);
+		return result;
+	}
+
+	/**
+	 * Cancels every lookup as soon as one of them comes back unsuccessful, so the order
+	 * fails fast instead of waiting on lookups whose result no longer matters, and the
+	 * threads still running the others are interrupted (see {@link #lookupAsync}).
+	 */
+	private void cancelAllOnFailure(List<? extends CompletableFuture<? extends CustomApiResponse<?>>> lookups) {
+		for (CompletableFuture<? extends CustomApiResponse<?>> lookup : lookups) {
+			lookup.thenAccept(response -> {
+				if (!response.isSuccess() || response.getData() == null) {
+					lookups.forEach(other -> other.cancel(true));
+				}
+			});
+		}
+	}
+
+	/**
+	 * Waits for all lookups to settle within the given budget. Returns false on timeout,
+	 * in which case every lookup still running is cancelled.
+	 */
+	private boolean awaitLookups(Duration timeout, CompletableFuture<?>... lookups) throws InterruptedException {
+		try {
+			CompletableFuture.allOf(lookups).get(Deadline.cap(timeout).toNanos(), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			for (CompletableFuture<?> lookup : lookups) {
+				lookup.cancel(true);
+			}
+			return false;
+		} catch (ExecutionException | CancellationException e) {
+			// A lookup was cancelled because another one failed; callers inspect each result.
+		}
+		return true;
+	}
+
+	private <T> T lookupResult(CompletableFuture<T> lookup) {
+		if (lookup.isCancelled() || lookup.isCompletedExceptionally()) {
+			return null;
+		}
+		return lookup.join();
+	}
+
+	// Evicts through the cache manager rather than @CacheEvict, which a call from within this
+	// class would bypass. product-service's event covers other instances; this makes the
+	// change visible here without waiting for it.
+	private void clearProductCache(String productId) {
+		logger.info("Clearing product cache for: {}", productId);
+		cacheManager.getCache(CacheConfig.PRODUCTS).evict(productId);
+	}
+
+	// For the non-blocking path, whose continuations may run on the HTTP client's threads.
+	private void clearProductCacheAsync(String productId) {
 		logger.info("Clearing product cache for: {}", productId);
+		cacheManager.getCache(CacheConfig.PRODUCTS).evictAsync(productId, cacheExecutor);
 	}
 }
\ No newline at end of file
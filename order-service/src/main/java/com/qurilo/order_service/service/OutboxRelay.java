@@ -0,0 +1,180 @@
+package com.qurilo.order_service.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qurilo.order_service.client.ProductServiceClient;
+import com.qurilo.order_service.dto.CustomApiResponse;
+import com.qurilo.order_service.dto.OrderConfirmationPayload;
+import com.qurilo.order_service.dto.StockReservationRequest;
+import com.qurilo.order_service.entity.OutboxEvent;
+import com.qurilo.order_service.repository.OutboxEventRepository;
+
+/**
+ * Drains the outbox in batches. Events are claimed in a short transaction that pushes their
+ * next attempt out by a lease, so a crashed relay's events become due again on their own,
+ * and are then delivered outside any transaction. Delivery is at-least-once: a failure is
+ * retried with exponential backoff until {@code orders.outbox.max-attempts}. Stock releases
+ * are retried until they succeed, since giving up on one leaves the stock reserved for good.
+ */
+@Component
+public class OutboxRelay {
+
+	private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+	private static final int MAX_ERROR_LENGTH = 1000;
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private EmailService emailService;
+
+	@Autowired
+	private ProductServiceClient productServiceClient;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	@Qualifier("emailTaskExecutor")
+	private Executor emailTaskExecutor;
+
+	@Value("${orders.outbox.batch-size:50}")
+	private int batchSize;
+
+	@Value("${orders.outbox.lease:1m}")
+	private Duration lease;
+
+	@Value("${orders.outbox.max-attempts:10}")
+	private int maxAttempts;
+
+	@Value("${orders.outbox.initial-backoff:5s}")
+	private Duration initialBackoff;
+
+	@Value("${orders.outbox.max-backoff:30m}")
+	private Duration maxBackoff;
+
+	@Value("${orders.outbox.retention:7d}")
+	private Duration retention;
+
+	@Scheduled(fixedDelayString = "${orders.outbox.poll-interval:1s}")
+	public void relay() {
+		try {
+			List<OutboxEvent> events;
+			do {
+				events = claimDueEvents();
+				if (events.isEmpty()) {
+					return;
+				}
+				logger.debug("Relaying {} outbox events", events.size());
+
+				List<CompletableFuture<Void>> deliveries = new ArrayList<>(events.size());
+				for (OutboxEvent event : events) {
+					deliveries.add(deliverAsync(event));
+				}
+				CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).join();
+			} while (events.size() == batchSize);
+		} catch (Exception e) {
+			logger.error("Outbox relay run failed: {}", e.getMessage(), e);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${orders.outbox.purge-interval:1h}")
+	public void purgeSentEvents() {
+		try {
+			Integer purged = transactionTemplate.execute(status -> outboxEventRepository
+					.deleteProcessedBefore(OutboxEvent.EventStatus.SENT, LocalDateTime.now().minus(retention)));
+			if (purged != null && purged > 0) {
+				logger.info("Purged {} sent outbox events older than {}", purged, retention);
+			}
+		} catch (Exception e) {
+			logger.error("Failed to purge sent outbox events: {}", e.getMessage(), e);
+		}
+	}
+
+	private List<OutboxEvent> claimDueEvents() {
+		return transactionTemplate.execute(status -> {
+			LocalDateTime now = LocalDateTime.now();
+			List<OutboxEvent> events = outboxEventRepository.lockDueEvents(now, batchSize);
+			for (OutboxEvent event : events) {
+				event.setAttempts(event.getAttempts() + 1);
+				event.setNextAttemptAt(now.plus(lease));
+			}
+			return outboxEventRepository.saveAll(events);
+		});
+	}
+
+	private CompletableFuture<Void> deliverAsync(OutboxEvent event) {
+		try {
+			return CompletableFuture.runAsync(() -> deliver(event), emailTaskExecutor);
+		} catch (RejectedExecutionException e) {
+			deliver(event);
+			return CompletableFuture.completedFuture(null);
+		}
+	}
+
+	private void deliver(OutboxEvent event) {
+		try {
+			dispatch(event);
+			event.setStatus(OutboxEvent.EventStatus.SENT);
+			event.setProcessedAt(LocalDateTime.now());
+			event.setLastError(null);
+		} catch (Exception e) {
+			String error = e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+			event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+			if (event.getAttempts() >= maxAttempts && event.getEventType() != OutboxEvent.EventType.STOCK_RELEASE) {
+				event.setStatus(OutboxEvent.EventStatus.FAILED);
+				event.setProcessedAt(LocalDateTime.now());
+				logger.error("Giving up on outbox event {} after {} attempts: {}", event.getId(), event.getAttempts(),
+						error);
+			} else {
+				event.setNextAttemptAt(LocalDateTime.now().plus(backoff(event.getAttempts())));
+				logger.warn("Outbox event {} failed on attempt {}, retrying at {}: {}", event.getId(),
+						event.getAttempts(), event.getNextAttemptAt(), error);
+			}
+		}
+		outboxEventRepository.save(event);
+	}
+
+	private void dispatch(OutboxEvent event) throws Exception {
+		switch (event.getEventType()) {
+		case ORDER_CONFIRMATION_EMAIL -> {
+			OrderConfirmationPayload payload = objectMapper.readValue(event.getPayload(),
+					OrderConfirmationPayload.class);
+			emailService.sendOrderConfirmationEmail(payload.getUser(), payload.getOrder());
+		}
+		case STOCK_RELEASE -> {
+			StockReservationRequest payload = objectMapper.readValue(event.getPayload(),
+					StockReservationRequest.class);
+			CustomApiResponse<?> release = productServiceClient.releaseProductsStock(payload.getItems());
+			if (!release.isSuccess()) {
+				throw new IllegalStateException("Stock release refused: " + release.getMessage());
+			}
+		}
+		}
+	}
+
+	private Duration backoff(int attempts) {
+		Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+		return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.qurilo.order_service.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qurilo.order_service.dto.OrderConfirmationPayload;
+import com.qurilo.order_service.dto.OrderResponse;
+import com.qurilo.order_service.dto.StockReservationRequest;
+import com.qurilo.order_service.dto.UserResponse;
+import com.qurilo.order_service.entity.OutboxEvent;
+import com.qurilo.order_service.repository.OutboxEventRepository;
+
+/**
+ * Records side effects of an order in the orders database, in the same transaction as the
+ * order itself. {@link OutboxRelay} delivers them after commit, so a side effect is never
+ * lost for a committed order and never sent for a rolled-back one.
+ */
+@Service
+public class OutboxService {
+
+	private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void enqueueOrderConfirmation(UserResponse user, OrderResponse order) {
+		try {
+			String payload = objectMapper.writeValueAsString(new OrderConfirmationPayload(user, order));
+			outboxEventRepository
+					.save(new OutboxEvent(OutboxEvent.EventType.ORDER_CONFIRMATION_EMAIL, order.getId(), payload));
+			logger.debug("Queued order confirmation email for order: {}", order.getId());
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Failed to serialize confirmation for order " + order.getId(), e);
+		}
+	}
+
+	/**
+	 * Queues a release of stock that product-service refused or failed to release directly.
+	 * It commits on its own, since the caller is usually recovering from an order that
+	 * was rolled back. Releases carry no idempotency key, so one that timed out after
+	 * product-service applied it is released twice; that is preferred to leaking it.
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public void enqueueStockRelease(Long orderId, List<StockReservationRequest.Item> items) {
+		try {
+			String payload = objectMapper.writeValueAsString(new StockReservationRequest(items));
+			outboxEventRepository.save(new OutboxEvent(OutboxEvent.EventType.STOCK_RELEASE, orderId, payload));
+			logger.debug("Queued stock release of {} products for order: {}", items.size(), orderId);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Failed to serialize stock release " + items, e);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.qurilo.order_service.utils;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * The point in time by which the caller of the current request needs an answer, as epoch
+ * milliseconds so it can travel to other services in the X-Request-Deadline header. It is
+ * bound to the request thread and carried onto worker threads by {@link #propagate}.
+ */
+public final class Deadline {
+
+    public static final String HEADER = "X-Request-Deadline";
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    // Sent downstream but not enforced here; see advertisedOnly.
+    private static final ThreadLocal<Deadline> ADVERTISED = new ThreadLocal<>();
+
+    private final long epochMillis;
+
+    private Deadline(long epochMillis) {
+        this.epochMillis = epochMillis;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.currentTimeMillis() + timeout.toMillis());
+    }
+
+    public static Deadline at(long epochMillis) {
+        return new Deadline(epochMillis);
+    }
+
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public static void set(Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Caps a timeout by the time left on the current deadline, if there is one.
+     */
+    public static Duration cap(Duration timeout) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return timeout;
+        }
+        Duration remaining = deadline.remaining();
+        return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    /**
+     * Runs the action with the given deadline bound, restoring whatever was bound before.
+     */
+    public static <T> T callWith(Deadline deadline, Supplier<T> action) {
+        Deadline previous = CURRENT.get();
+        set(deadline);
+        try {
+            return action.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    /**
+     * Runs the action with no deadline bound. For compensating calls, such as releasing
+     * reserved stock, that must go through even after the caller has given up.
+     */
+    public static <T> T ignoring(Supplier<T> action) {
+        return withAdvertised(null, action);
+    }
+
+    /**
+     * Runs the action with no deadline enforced locally, so timeouts aren't capped by it, but
+     * still sent downstream so the other service can refuse the call if it arrives too late.
+     * For writes such as stock reservations, which must not be abandoned once sent.
+     */
+    public static <T> T advertisedOnly(Supplier<T> action) {
+        Deadline deadline = toAdvertise();
+        return withAdvertised(deadline, action);
+    }
+
+    // The deadline for the X-Request-Deadline header: the bound one, else an advertised-only one.
+    public static Deadline toAdvertise() {
+        Deadline deadline = CURRENT.get();
+        return deadline != null ? deadline : ADVERTISED.get();
+    }
+
+    public static Deadline earliest(Deadline first, Deadline second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return first.epochMillis <= second.epochMillis ? first : second;
+    }
+
+    private static <T> T withAdvertised(Deadline advertised, Supplier<T> action) {
+        Deadline previous = ADVERTISED.get();
+        ADVERTISED.set(advertised);
+        try {
+            return callWith(null, action);
+        } finally {
+            ADVERTISED.set(previous);
+        }
+    }
+
+    // TaskDecorator for executors that do work on behalf of a waiting caller.
+    public static Runnable propagate(Runnable task) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> callWith(deadline, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public long epochMillis() {
+        return epochMillis;
+    }
+
+    public Duration remaining() {
+        return Duration.ofMillis(Math.max(0, epochMillis - System.currentTimeMillis()));
+    }
+
+    public boolean isExpired() {
+        return System.currentTimeMillis() >= epochMillis;
+    }
+}
\ No newline at end of file
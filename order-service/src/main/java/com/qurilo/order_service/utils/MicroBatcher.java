@@ -0,0 +1,115 @@
+package com.qurilo.order_service.utils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects individual loads over a short window and dispatches them as one batch, in the
+ * style of a DataLoader. A batch goes out when the window closes or when it reaches the
+ * maximum size, whichever comes first. Loads of the same key within a window share one
+ * future. Keys the loader leaves out of its result complete with null; if the loader
+ * throws, every load in the batch completes with that exception.
+ *
+ * The loader runs with the earliest {@link Deadline} of the batch's callers bound, so the
+ * batch call is capped by and advertises the deadline of the most impatient of them.
+ */
+public class MicroBatcher<K, V> implements AutoCloseable {
+
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Function<Set<K>, Map<K, V>> batchLoader;
+    private final Executor dispatchExecutor;
+    private final ScheduledExecutorService timer;
+
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private Deadline pendingDeadline;
+    private ScheduledFuture<?> scheduledFlush;
+
+    public MicroBatcher(String name, Duration window, int maxBatchSize, Function<Set<K>, Map<K, V>> batchLoader,
+                        Executor dispatchExecutor) {
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.batchLoader = batchLoader;
+        this.dispatchExecutor = dispatchExecutor;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<V> load(K key) {
+        Batch<K, V> batch = null;
+        CompletableFuture<V> result;
+        synchronized (this) {
+            result = pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+            pendingDeadline = Deadline.earliest(pendingDeadline, Deadline.current());
+            if (pending.size() >= maxBatchSize) {
+                batch = takePending();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = timer.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        flush();
+    }
+
+    private void flush() {
+        Batch<K, V> batch;
+        synchronized (this) {
+            batch = takePending();
+        }
+        if (!batch.loads().isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private Batch<K, V> takePending() {
+        Batch<K, V> batch = new Batch<>(pending, pendingDeadline);
+        pending = new LinkedHashMap<>();
+        pendingDeadline = null;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Batch<K, V> batch) {
+        try {
+            dispatchExecutor.execute(() -> loadBatch(batch));
+        } catch (RejectedExecutionException e) {
+            loadBatch(batch);
+        }
+    }
+
+    private void loadBatch(Batch<K, V> batch) {
+        try {
+            Map<K, V> results = Deadline.callWith(batch.deadline(), () -> batchLoader.apply(batch.loads().keySet()));
+            batch.loads().forEach((key, future) -> future.complete(results.get(key)));
+        } catch (Throwable e) {
+            batch.loads().values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private record Batch<K, V>(Map<K, CompletableFuture<V>> loads, Deadline deadline) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.qurilo.order_service.utils;
+
+/**
+ * Token bucket that caps extra requests (hedges, retries) at a fraction of normal traffic.
+ * Every normal request deposits {@code ratio} tokens, up to {@code maxTokens}; each extra
+ * request spends one. With a ratio of 0.1, at most about one request in ten gets an extra
+ * attempt, so a struggling service sees at most 10% more load from us, not double.
+ */
+public class RequestBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    public RequestBudget(double ratio, double maxTokens) {
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+    }
+
+    public synchronized void onRequest() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized double available() {
+        return tokens;
+    }
+}
\ No newline at end of file
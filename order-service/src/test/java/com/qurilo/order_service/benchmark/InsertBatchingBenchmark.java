@@ -0,0 +1,194 @@
+package com.qurilo.order_service.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reproduces, with plain JDBC against an embedded PostgreSQL, the statements Hibernate issues
+ * for IDENTITY keys versus pooled sequences with insert batching, and for random versus
+ * time-ordered string UUID primary keys. Opt-in: {@code mvn test -Dtest=InsertBatchingBenchmark -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class InsertBatchingBenchmark {
+
+	private static final Logger logger = LoggerFactory.getLogger(InsertBatchingBenchmark.class);
+
+	private static final int ORDER_ROWS = 5_000;
+
+	private static final int PRODUCT_ROWS = 200_000;
+
+	// Matches hibernate.jdbc.batch_size and the sequences' allocation size.
+	private static final int BATCH_SIZE = 50;
+
+	@Test
+	void identityVersusPooledSequenceInserts() throws Exception {
+		try (EmbeddedPostgres postgres = EmbeddedPostgres.start()) {
+			String url = postgres.getJdbcUrl("postgres", "postgres");
+			try (Connection connection = DriverManager.getConnection(url);
+					Statement statement = connection.createStatement()) {
+				statement.execute("CREATE TABLE orders_identity (id BIGSERIAL PRIMARY KEY, user_id BIGINT NOT NULL, "
+						+ "product_id VARCHAR(255), quantity INTEGER NOT NULL, status VARCHAR(20))");
+				statement.execute("CREATE TABLE orders_sequence (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, "
+						+ "product_id VARCHAR(255), quantity INTEGER NOT NULL, status VARCHAR(20))");
+				statement.execute("CREATE SEQUENCE orders_seq INCREMENT BY " + BATCH_SIZE);
+			}
+
+			// The first rounds warm up the JIT and the server; the last one is the one to quote.
+			for (int round = 0; round < 4; round++) {
+				long identityMillis = insertWithIdentity(url);
+				long batchedMillis = insertWithPooledSequence(url + "&reWriteBatchedInserts=true");
+				logger.info("Round {}: IDENTITY {} ms ({} rows/s), pooled sequence + batches of {} {} ms ({} rows/s)",
+						round, identityMillis, rowsPerSecond(ORDER_ROWS, identityMillis), BATCH_SIZE, batchedMillis,
+						rowsPerSecond(ORDER_ROWS, batchedMillis));
+			}
+
+			assertEquals(4L * ORDER_ROWS, countRows(url, "orders_identity"));
+			assertEquals(4L * ORDER_ROWS, countRows(url, "orders_sequence"));
+		}
+	}
+
+	@Test
+	void randomVersusTimeOrderedUuidKeys() throws Exception {
+		try (EmbeddedPostgres postgres = EmbeddedPostgres.start()) {
+			String url = postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true";
+			try (Connection connection = DriverManager.getConnection(url);
+					Statement statement = connection.createStatement()) {
+				statement.execute("CREATE TABLE products_random (product_id VARCHAR(255) PRIMARY KEY, n INTEGER)");
+				statement.execute("CREATE TABLE products_time_ordered (product_id VARCHAR(255) PRIMARY KEY, n INTEGER)");
+			}
+
+			for (int round = 0; round < 2; round++) {
+				long randomMillis = insertUuidKeys(url, "products_random", false);
+				long timeOrderedMillis = insertUuidKeys(url, "products_time_ordered", true);
+				logger.info("Round {}: {} random v4 keys {} ms, time-ordered v7 keys {} ms", round, PRODUCT_ROWS,
+						randomMillis, timeOrderedMillis);
+			}
+
+			try (Connection connection = DriverManager.getConnection(url);
+					Statement statement = connection.createStatement();
+					ResultSet pages = statement.executeQuery("SELECT relname, pg_relation_size(oid) / 8192 FROM pg_class "
+							+ "WHERE relname IN ('products_random_pkey', 'products_time_ordered_pkey')")) {
+				while (pages.next()) {
+					logger.info("{}: {} pages", pages.getString(1), pages.getLong(2));
+				}
+			}
+		}
+	}
+
+	// One round trip per row, reading the generated key back as Hibernate does for IDENTITY.
+	private long insertWithIdentity(String url) throws Exception {
+		try (Connection connection = DriverManager.getConnection(url)) {
+			connection.setAutoCommit(false);
+			long start = System.nanoTime();
+			try (PreparedStatement insert = connection.prepareStatement(
+					"INSERT INTO orders_identity (user_id, product_id, quantity, status) VALUES (?, ?, ?, ?)",
+					Statement.RETURN_GENERATED_KEYS)) {
+				for (int i = 0; i < ORDER_ROWS; i++) {
+					bindOrder(insert, i);
+					insert.executeUpdate();
+					try (ResultSet keys = insert.getGeneratedKeys()) {
+						keys.next();
+					}
+				}
+			}
+			connection.commit();
+			return (System.nanoTime() - start) / 1_000_000;
+		}
+	}
+
+	// Ids come from the pooled sequence one block at a time, so rows can go out in batches.
+	private long insertWithPooledSequence(String url) throws Exception {
+		try (Connection connection = DriverManager.getConnection(url)) {
+			connection.setAutoCommit(false);
+			long start = System.nanoTime();
+			long nextId = 0;
+			long blockEnd = 0;
+			try (PreparedStatement sequence = connection.prepareStatement("SELECT nextval('orders_seq')");
+					PreparedStatement insert = connection.prepareStatement(
+							"INSERT INTO orders_sequence (user_id, product_id, quantity, status, id) VALUES (?, ?, ?, ?, ?)")) {
+				for (int i = 0; i < ORDER_ROWS; i++) {
+					if (nextId == blockEnd) {
+						try (ResultSet value = sequence.executeQuery()) {
+							value.next();
+							blockEnd = value.getLong(1);
+							nextId = blockEnd - BATCH_SIZE;
+						}
+					}
+					bindOrder(insert, i);
+					insert.setLong(5, ++nextId);
+					insert.addBatch();
+					if ((i + 1) % BATCH_SIZE == 0) {
+						insert.executeBatch();
+					}
+				}
+				insert.executeBatch();
+			}
+			connection.commit();
+			return (System.nanoTime() - start) / 1_000_000;
+		}
+	}
+
+	private long insertUuidKeys(String url, String table, boolean timeOrdered) throws Exception {
+		try (Connection connection = DriverManager.getConnection(url)) {
+			connection.setAutoCommit(false);
+			Random random = new Random();
+			long counter = 0;
+			long start = System.nanoTime();
+			try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " VALUES (?, ?)")) {
+				for (int i = 0; i < PRODUCT_ROWS; i++) {
+					UUID key = timeOrdered ? timeOrderedUuid(random, counter++) : UUID.randomUUID();
+					insert.setString(1, key.toString());
+					insert.setInt(2, i);
+					insert.addBatch();
+					if ((i + 1) % BATCH_SIZE == 0) {
+						insert.executeBatch();
+					}
+				}
+				insert.executeBatch();
+			}
+			connection.commit();
+			return (System.nanoTime() - start) / 1_000_000;
+		}
+	}
+
+	// Same layout as product-service's generator: 48-bit millisecond timestamp, version 7, 12-bit counter.
+	private static UUID timeOrderedUuid(Random random, long counter) {
+		long mostSignificantBits = (System.currentTimeMillis() << 16) | 0x7000 | (counter & 0xfff);
+		long leastSignificantBits = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+		return new UUID(mostSignificantBits, leastSignificantBits);
+	}
+
+	private static void bindOrder(PreparedStatement insert, int i) throws Exception {
+		insert.setLong(1, i);
+		insert.setString(2, "product-" + i);
+		insert.setInt(3, 1);
+		insert.setString(4, "CONFIRMED");
+	}
+
+	private static long countRows(String url, String table) throws Exception {
+		try (Connection connection = DriverManager.getConnection(url);
+				Statement statement = connection.createStatement();
+				ResultSet count = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+			count.next();
+			return count.getLong(1);
+		}
+	}
+
+	private static long rowsPerSecond(int rows, long millis) {
+		return Math.round(rows * 1000.0 / Math.max(millis, 1));
+	}
+
+}
\ No newline at end of file
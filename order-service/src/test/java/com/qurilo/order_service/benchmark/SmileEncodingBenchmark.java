@@ -0,0 +1,107 @@
+package com.qurilo.order_service.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.qurilo.order_service.config.RestTemplateConfig;
+import com.qurilo.order_service.dto.CustomApiResponse;
+import com.qurilo.order_service.dto.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares JSON and Smile for the product responses order-service reads: encoded size and
+ * encode/decode time, for a single product and for a 100-product batch. Uses the same
+ * mapper as the RestTemplate converters. Opt-in:
+ * {@code mvn test -Dtest=SmileEncodingBenchmark -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class SmileEncodingBenchmark {
+
+	private static final Logger logger = LoggerFactory.getLogger(SmileEncodingBenchmark.class);
+
+	private final ObjectMapper json = RestTemplateConfig.interServiceObjectMapper();
+
+	private final ObjectMapper smile = json.copyWith(new SmileFactory());
+
+	@Test
+	void singleProduct() throws Exception {
+		CustomApiResponse<ProductResponse> payload = new CustomApiResponse<>(true, "Product retrieved successfully",
+				product(0), HttpStatus.OK);
+		JavaType type = json.getTypeFactory().constructParametricType(CustomApiResponse.class, ProductResponse.class);
+
+		compare("single product", payload, type, 400_000);
+	}
+
+	@Test
+	void productBatch() throws Exception {
+		List<ProductResponse> products = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			products.add(product(i));
+		}
+		CustomApiResponse<List<ProductResponse>> payload = new CustomApiResponse<>(true,
+				"Products retrieved successfully", products, HttpStatus.OK);
+		JavaType type = json.getTypeFactory().constructParametricType(CustomApiResponse.class,
+				json.getTypeFactory().constructCollectionType(List.class, ProductResponse.class));
+
+		Result result = compare("100-product batch", payload, type, 8_000);
+
+		// Smile back-references the property names repeated in every product.
+		assertTrue(result.smileBytes() < result.jsonBytes(), "Smile batch payload is not smaller than JSON");
+	}
+
+	private Result compare(String label, Object payload, JavaType type, int iterations) throws Exception {
+		byte[] jsonBytes = json.writeValueAsBytes(payload);
+		byte[] smileBytes = smile.writeValueAsBytes(payload);
+		assertEquals(json.writeValueAsString(json.readValue(jsonBytes, type)),
+				json.writeValueAsString(smile.readValue(smileBytes, type)));
+
+		for (int warmup = 0; warmup < 3; warmup++) {
+			time(json, payload, type, iterations / 2);
+			time(smile, payload, type, iterations / 2);
+		}
+		long[] jsonNanos = time(json, payload, type, iterations);
+		long[] smileNanos = time(smile, payload, type, iterations);
+
+		logger.info("{}: size JSON {} B, Smile {} B ({}%); encode JSON {} ns, Smile {} ns; decode JSON {} ns, Smile {} ns",
+				label, jsonBytes.length, smileBytes.length, Math.round(100.0 * smileBytes.length / jsonBytes.length),
+				jsonNanos[0] / iterations, smileNanos[0] / iterations, jsonNanos[1] / iterations,
+				smileNanos[1] / iterations);
+		return new Result(jsonBytes.length, smileBytes.length);
+	}
+
+	// Total encode and decode time over the given number of iterations.
+	private static long[] time(ObjectMapper mapper, Object payload, JavaType type, int iterations) throws Exception {
+		byte[] encoded = mapper.writeValueAsBytes(payload);
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			mapper.writeValueAsBytes(payload);
+		}
+		long encoding = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			mapper.readValue(encoded, type);
+		}
+		return new long[] { encoding, System.nanoTime() - start };
+	}
+
+	private static ProductResponse product(int i) {
+		return new ProductResponse(UUID.randomUUID().toString(), "Wireless Mouse " + i,
+				"Ergonomic 2.4GHz wireless mouse with USB receiver", new BigDecimal("29.99"), 100 + i, "Electronics",
+				"2025-01-15 10:30:00", "2025-01-15 10:30:00");
+	}
+
+	private record Result(int jsonBytes, int smileBytes) {
+	}
+}
\ No newline at end of file
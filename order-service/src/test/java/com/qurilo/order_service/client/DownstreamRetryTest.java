@@ -0,0 +1,153 @@
+package com.qurilo.order_service.client;
+
+import com.qurilo.order_service.exception.DeadlineExceededException;
+import com.qurilo.order_service.utils.Deadline;
+import com.qurilo.order_service.utils.RequestBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DownstreamRetryTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final AtomicInteger attempts = new AtomicInteger();
+
+	@AfterEach
+	void clearDeadline() {
+		Deadline.clear();
+	}
+
+	@Test
+	void transientFailureIsRetriedUntilItSucceeds() {
+		DownstreamRetry retry = retry(3, new RequestBudget(0.1, 10));
+
+		String result = retry.execute(() -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw new ResourceAccessException("Connection reset");
+			}
+			return "product";
+		});
+
+		assertEquals("product", result);
+		assertEquals(3, attempts.get());
+		assertEquals(2, retries("retried"));
+		assertEquals(1, retries("recovered"));
+	}
+
+	@Test
+	void gatewayErrorsAreRetried() {
+		DownstreamRetry retry = retry(2, new RequestBudget(0.1, 10));
+
+		String result = retry.execute(() -> {
+			if (attempts.incrementAndGet() == 1) {
+				throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+			}
+			return "product";
+		});
+
+		assertEquals("product", result);
+		assertEquals(2, attempts.get());
+	}
+
+	@Test
+	void nonTransientFailuresAreNotRetried() {
+		DownstreamRetry retry = retry(3, new RequestBudget(0.1, 10));
+
+		assertNotRetried(retry, new HttpClientErrorException(HttpStatus.NOT_FOUND));
+		assertNotRetried(retry, new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+		assertNotRetried(retry, new DeadlineExceededException("product-service"));
+	}
+
+	@Test
+	void givesUpAfterMaxAttempts() {
+		DownstreamRetry retry = retry(3, new RequestBudget(0.1, 10));
+		ResourceAccessException failure = new ResourceAccessException("Connection refused");
+
+		assertSame(failure, assertThrows(ResourceAccessException.class, () -> retry.execute(failAlways(failure))));
+
+		assertEquals(3, attempts.get());
+		assertEquals(1, retries("exhausted"));
+	}
+
+	@Test
+	void retriesSpendTheBudgetAndStopWhenItRunsDry() {
+		RequestBudget budget = new RequestBudget(0.5, 1);
+		DownstreamRetry retry = retry(5, budget);
+		ResourceAccessException failure = new ResourceAccessException("Connection refused");
+
+		// The call deposits 0.5 onto the full bucket (capped at 1), the first retry spends it.
+		assertThrows(ResourceAccessException.class, () -> retry.execute(failAlways(failure)));
+
+		assertEquals(2, attempts.get());
+		assertEquals(1, retries("retried"));
+		assertEquals(1, retries("over_budget"));
+		assertEquals(0, budget.available());
+	}
+
+	@Test
+	void budgetRefilledByLaterCallsAllowsRetriesAgain() {
+		RequestBudget budget = new RequestBudget(0.5, 1);
+		DownstreamRetry retry = retry(2, budget);
+		budget.tryAcquire();
+
+		// Two successful calls deposit a whole token between them.
+		retry.execute(() -> "product");
+		retry.execute(() -> "product");
+		String result = retry.execute(() -> {
+			if (attempts.incrementAndGet() == 1) {
+				throw new ResourceAccessException("Connection reset");
+			}
+			return "product";
+		});
+
+		assertEquals("product", result);
+		assertEquals(1, retries("recovered"));
+	}
+
+	@Test
+	void doesNotRetryWhenTheDeadlineLeavesNoTimeForTheBackoff() {
+		DownstreamRetry retry = retry(3, new RequestBudget(0.1, 10));
+		Deadline.set(Deadline.at(System.currentTimeMillis()));
+
+		assertThrows(ResourceAccessException.class,
+				() -> retry.execute(failAlways(new ResourceAccessException("Read timed out"))));
+
+		assertEquals(1, attempts.get());
+		assertEquals(0, retries("retried"));
+	}
+
+	private DownstreamRetry retry(int maxAttempts, RequestBudget budget) {
+		return new DownstreamRetry("product-service", maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5), budget,
+				meterRegistry);
+	}
+
+	private void assertNotRetried(DownstreamRetry retry, RuntimeException failure) {
+		attempts.set(0);
+		assertSame(failure, assertThrows(RuntimeException.class, () -> retry.execute(failAlways(failure))));
+		assertEquals(1, attempts.get());
+	}
+
+	private Supplier<String> failAlways(RuntimeException failure) {
+		return () -> {
+			attempts.incrementAndGet();
+			throw failure;
+		};
+	}
+
+	private double retries(String outcome) {
+		return meterRegistry.get("orders.downstream.retries").tag("outcome", outcome).counter().count();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.qurilo.order_service.client;
+
+import com.qurilo.order_service.utils.RequestBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestHedgerTest {
+
+	// Fixed so the hedge goes out at a known point, whatever latency has been recorded.
+	private static final Duration HEDGE_DELAY = Duration.ofMillis(50);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private final AtomicInteger hedgeCalls = new AtomicInteger();
+
+	@AfterEach
+	void shutdownExecutor() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void fastPrimaryIsNotHedged() {
+		RequestHedger hedger = hedger(new RequestBudget(0.1, 10));
+
+		assertEquals("primary", hedger.execute(() -> "primary", countedHedge(() -> "hedge")));
+
+		assertEquals(0, hedgeCalls.get());
+		assertEquals(0, hedges("sent"));
+	}
+
+	@Test
+	void slowPrimaryIsHedgedAndCancelledWhenTheHedgeWins() throws Exception {
+		RequestHedger hedger = hedger(new RequestBudget(0.1, 10));
+		CountDownLatch primaryInterrupted = new CountDownLatch(1);
+
+		String result = hedger.execute(() -> blockUntilInterrupted(primaryInterrupted), countedHedge(() -> "hedge"));
+
+		assertEquals("hedge", result);
+		assertTrue(primaryInterrupted.await(5, TimeUnit.SECONDS), "losing primary was not cancelled");
+		assertEquals(1, hedges("sent"));
+		awaitHedges("won", 1);
+	}
+
+	@Test
+	void hedgeIsCancelledWhenThePrimaryWins() throws Exception {
+		RequestHedger hedger = hedger(new RequestBudget(0.1, 10));
+		CountDownLatch hedgeInterrupted = new CountDownLatch(1);
+
+		String result = hedger.execute(() -> sleepThenReturn(HEDGE_DELAY.multipliedBy(3), "primary"),
+				countedHedge(() -> blockUntilInterrupted(hedgeInterrupted)));
+
+		assertEquals("primary", result);
+		assertEquals(1, hedgeCalls.get());
+		assertTrue(hedgeInterrupted.await(5, TimeUnit.SECONDS), "losing hedge was not cancelled");
+		assertEquals(0, hedges("won"));
+	}
+
+	@Test
+	void noHedgeIsSentWithoutBudget() {
+		RequestHedger hedger = hedger(new RequestBudget(0, 0));
+
+		String result = hedger.execute(() -> sleepThenReturn(HEDGE_DELAY.multipliedBy(3), "primary"),
+				countedHedge(() -> "hedge"));
+
+		assertEquals("primary", result);
+		assertEquals(0, hedgeCalls.get());
+		assertEquals(1, hedges("over_budget"));
+	}
+
+	@Test
+	void primaryFailingBeforeTheDelayIsNotHedged() {
+		RequestHedger hedger = hedger(new RequestBudget(0.1, 10));
+		IllegalStateException failure = new IllegalStateException("product-service returned 404");
+
+		IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> hedger.execute(() -> {
+			throw failure;
+		}, countedHedge(() -> "hedge")));
+
+		assertSame(failure, thrown);
+		assertEquals(0, hedgeCalls.get());
+	}
+
+	@Test
+	void failsOnlyWhenBothRequestsFail() {
+		RequestHedger hedger = hedger(new RequestBudget(0.1, 10));
+		IllegalStateException primaryFailure = new IllegalStateException("primary failed");
+
+		IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> hedger.execute(() -> {
+			sleepThenReturn(HEDGE_DELAY.multipliedBy(3), "primary");
+			throw primaryFailure;
+		}, countedHedge(() -> {
+			throw new IllegalStateException("hedge failed");
+		})));
+
+		assertSame(primaryFailure, thrown);
+	}
+
+	private RequestHedger hedger(RequestBudget budget) {
+		return new RequestHedger("product-service", 0.95, HEDGE_DELAY, HEDGE_DELAY, budget, executor, meterRegistry);
+	}
+
+	private Supplier<String> countedHedge(Supplier<String> hedge) {
+		return () -> {
+			hedgeCalls.incrementAndGet();
+			return hedge.get();
+		};
+	}
+
+	private double hedges(String outcome) {
+		return meterRegistry.get("orders.downstream.hedges").tag("outcome", outcome).counter().count();
+	}
+
+	// The hedge counters are updated on the thread that completes the winning request.
+	private void awaitHedges(String outcome, double expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (hedges(outcome) != expected && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertEquals(expected, hedges(outcome));
+	}
+
+	private static String blockUntilInterrupted(CountDownLatch interrupted) {
+		try {
+			new CountDownLatch(1).await();
+			throw new AssertionError("unreachable");
+		} catch (InterruptedException e) {
+			interrupted.countDown();
+			throw new IllegalStateException("cancelled", e);
+		}
+	}
+
+	private static String sleepThenReturn(Duration duration, String value) {
+		try {
+			Thread.sleep(duration);
+			return value;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.qurilo.order_service.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MicroBatcherTest {
+
+	private static final Duration LONG_WINDOW = Duration.ofMinutes(1);
+
+	private static final Executor SAME_THREAD = Runnable::run;
+
+	private final List<Set<String>> batches = new CopyOnWriteArrayList<>();
+
+	@Test
+	void fullBatchIsDispatchedWithoutWaitingForTheWindow() throws Exception {
+		try (MicroBatcher<String, String> batcher = new MicroBatcher<>("test", LONG_WINDOW, 3,
+				recording(MicroBatcherTest::echo), SAME_THREAD)) {
+			CompletableFuture<String> first = batcher.load("a");
+			CompletableFuture<String> second = batcher.load("b");
+			assertFalse(first.isDone());
+
+			CompletableFuture<String> third = batcher.load("c");
+
+			assertEquals(List.of(Set.of("a", "b", "c")), batches);
+			assertEquals("value-a", first.getNow(null));
+			assertEquals("value-b", second.getNow(null));
+			assertEquals("value-c", third.getNow(null));
+		}
+	}
+
+	@Test
+	void partialBatchIsDispatchedWhenTheWindowCloses() throws Exception {
+		try (MicroBatcher<String, String> batcher = new MicroBatcher<>("test", Duration.ofMillis(20), 100,
+				recording(MicroBatcherTest::echo), SAME_THREAD)) {
+			CompletableFuture<String> first = batcher.load("a");
+			CompletableFuture<String> second = batcher.load("b");
+
+			assertEquals("value-a", first.get(5, TimeUnit.SECONDS));
+			assertEquals("value-b", second.get(5, TimeUnit.SECONDS));
+			assertEquals(List.of(Set.of("a", "b")), batches);
+		}
+	}
+
+	@Test
+	void loadsOfTheSameKeyInOneWindowShareAFuture() {
+		try (MicroBatcher<String, String> batcher = new MicroBatcher<>("test", LONG_WINDOW, 2,
+				recording(MicroBatcherTest::echo), SAME_THREAD)) {
+			CompletableFuture<String> first = batcher.load("a");
+			CompletableFuture<String> second = batcher.load("a");
+
+			assertSame(first, second);
+			assertFalse(first.isDone());
+		}
+		assertEquals(List.of(Set.of("a")), batches);
+	}
+
+	@Test
+	void keysMissingFromTheResultCompleteWithNull() throws Exception {
+		try (MicroBatcher<String, String> batcher = new MicroBatcher<>("test", LONG_WINDOW, 2,
+				recording(keys -> Map.of("a", "value-a")), SAME_THREAD)) {
+			CompletableFuture<String> found = batcher.load("a");
+			CompletableFuture<String> missing = batcher.load("b");
+
+			assertEquals("value-a", found.get(5, TimeUnit.SECONDS));
+			assertNull(missing.get(5, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	void loaderFailureFailsEveryLoadInTheBatch() {
+		IllegalStateException failure = new IllegalStateException("user-service unavailable");
+		try (MicroBatcher<String, String> batcher = new MicroBatcher<>("test", LONG_WINDOW, 2, keys -> {
+			throw failure;
+		}, SAME_THREAD)) {
+			List<CompletableFuture<String>> loads = List.of(batcher.load("a"), batcher.load("b"));
+
+			for (CompletableFuture<String> load : loads) {
+				ExecutionException e = assertThrows(ExecutionException.class, () -> load.get(5, TimeUnit.SECONDS));
+				assertSame(failure, e.getCause());
+			}
+		}
+	}
+
+	@Test
+	void rejectedDispatchRunsTheBatchOnTheCallingThread() throws Exception {
+		Executor saturated = task -> {
+			throw new RejectedExecutionException("saturated");
+		};
+		try (MicroBatcher<String, String> batcher = new MicroBatcher<>("test", LONG_WINDOW, 1,
+				recording(MicroBatcherTest::echo), saturated)) {
+			assertEquals("value-a", batcher.load("a").get(5, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	void loaderRunsUnderTheEarliestCallerDeadline() throws Exception {
+		Deadline sooner = Deadline.after(Duration.ofSeconds(5));
+		Deadline later = Deadline.after(Duration.ofSeconds(30));
+		List<Deadline> seen = new CopyOnWriteArrayList<>();
+		Executor otherThread = task -> new Thread(task).start();
+		try (MicroBatcher<String, String> batcher = new MicroBatcher<>("test", LONG_WINDOW, 3, keys -> {
+			seen.add(Deadline.current());
+			return echo(keys);
+		}, otherThread)) {
+			CompletableFuture<String> first = Deadline.callWith(later, () -> batcher.load("a"));
+			CompletableFuture<String> second = Deadline.callWith(sooner, () -> batcher.load("b"));
+			CompletableFuture<String> third = batcher.load("c");
+
+			CompletableFuture.allOf(first, second, third).get(5, TimeUnit.SECONDS);
+			assertEquals(List.of(sooner), seen);
+		}
+	}
+
+	@Test
+	void closeDispatchesWhatIsPending() throws Exception {
+		CompletableFuture<String> load;
+		try (MicroBatcher<String, String> batcher = new MicroBatcher<>("test", LONG_WINDOW, 100,
+				recording(MicroBatcherTest::echo), SAME_THREAD)) {
+			load = batcher.load("a");
+		}
+		assertTrue(load.isDone());
+		assertEquals("value-a", load.get());
+	}
+
+	private Function<Set<String>, Map<String, String>> recording(Function<Set<String>, Map<String, String>> loader) {
+		return keys -> {
+			batches.add(Set.copyOf(keys));
+			return loader.apply(keys);
+		};
+	}
+
+	private static Map<String, String> echo(Set<String> keys) {
+		return keys.stream().collect(Collectors.toMap(key -> key, key -> "value-" + key));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.qurilo.order_service.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestBudgetTest {
+
+	@Test
+	void startsFullAndIsSpentOneTokenPerExtraRequest() {
+		RequestBudget budget = new RequestBudget(0.1, 2);
+
+		assertTrue(budget.tryAcquire());
+		assertTrue(budget.tryAcquire());
+		assertFalse(budget.tryAcquire());
+		assertEquals(0, budget.available());
+	}
+
+	@Test
+	void normalRequestsRefillItByTheRatio() {
+		RequestBudget budget = new RequestBudget(0.25, 1);
+		budget.tryAcquire();
+
+		for (int i = 0; i < 3; i++) {
+			budget.onRequest();
+			assertFalse(budget.tryAcquire(), "a token was spent before four requests refilled it");
+		}
+		budget.onRequest();
+
+		assertTrue(budget.tryAcquire());
+	}
+
+	@Test
+	void refillStopsAtMaxTokens() {
+		RequestBudget budget = new RequestBudget(0.5, 2);
+
+		for (int i = 0; i < 10; i++) {
+			budget.onRequest();
+		}
+
+		assertEquals(2, budget.available());
+	}
+
+	@Test
+	void zeroBudgetNeverAllowsExtraRequests() {
+		RequestBudget budget = new RequestBudget(0, 0);
+		budget.onRequest();
+
+		assertFalse(budget.tryAcquire());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.qurilo.order_service.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+	private static final Duration MAX_WAIT = Duration.ofSeconds(5);
+
+	private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+	@Test
+	void concurrentCallsForTheSameKeyShareOneCall() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch leaderStarted = new CountDownLatch(1);
+		CountDownLatch releaseLeader = new CountDownLatch(1);
+		List<AtomicReference<Object>> outcomes = new ArrayList<>();
+
+		Thread leader = start(outcomes, () -> singleFlight.execute("product-1", MAX_WAIT, () -> {
+			calls.incrementAndGet();
+			leaderStarted.countDown();
+			await(releaseLeader);
+			return "result";
+		}));
+		assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+		List<Thread> followers = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			followers.add(start(outcomes, () -> singleFlight.execute("product-1", MAX_WAIT, () -> {
+				calls.incrementAndGet();
+				return "not coalesced";
+			})));
+		}
+		followers.forEach(SingleFlightTest::awaitWaiting);
+		releaseLeader.countDown();
+		join(leader, followers);
+
+		assertEquals(1, calls.get());
+		outcomes.forEach(outcome -> assertEquals("result", outcome.get()));
+	}
+
+	@Test
+	void failureOfTheSharedCallReachesEveryWaiter() throws Exception {
+		IllegalStateException failure = new IllegalStateException("product-service unavailable");
+		CountDownLatch leaderStarted = new CountDownLatch(1);
+		CountDownLatch releaseLeader = new CountDownLatch(1);
+		List<AtomicReference<Object>> outcomes = new ArrayList<>();
+
+		Thread leader = start(outcomes, () -> singleFlight.execute("product-1", MAX_WAIT, () -> {
+			leaderStarted.countDown();
+			await(releaseLeader);
+			throw failure;
+		}));
+		assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+		List<Thread> followers = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			followers.add(start(outcomes, () -> singleFlight.execute("product-1", MAX_WAIT, () -> "not coalesced")));
+		}
+		followers.forEach(SingleFlightTest::awaitWaiting);
+		releaseLeader.countDown();
+		join(leader, followers);
+
+		outcomes.forEach(outcome -> assertSame(failure, outcome.get()));
+	}
+
+	@Test
+	void waiterGivesUpAfterMaxWait() throws Exception {
+		CountDownLatch leaderStarted = new CountDownLatch(1);
+		CountDownLatch releaseLeader = new CountDownLatch(1);
+		Thread leader = start(new ArrayList<>(), () -> singleFlight.execute("product-1", MAX_WAIT, () -> {
+			leaderStarted.countDown();
+			await(releaseLeader);
+			return "result";
+		}));
+		assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+		try {
+			assertThrows(TimeoutException.class,
+					() -> singleFlight.execute("product-1", Duration.ofMillis(20), () -> "not coalesced"));
+		} finally {
+			releaseLeader.countDown();
+			leader.join();
+		}
+	}
+
+	@Test
+	void nothingIsCachedOnceTheCallFinishes() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+
+		singleFlight.execute("product-1", MAX_WAIT, () -> "call " + calls.incrementAndGet());
+		singleFlight.execute("product-1", MAX_WAIT, () -> "call " + calls.incrementAndGet());
+
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	void differentKeysAreNotCoalesced() throws Exception {
+		CountDownLatch leaderStarted = new CountDownLatch(1);
+		CountDownLatch releaseLeader = new CountDownLatch(1);
+		Thread leader = start(new ArrayList<>(), () -> singleFlight.execute("product-1", MAX_WAIT, () -> {
+			leaderStarted.countDown();
+			await(releaseLeader);
+			return "product-1";
+		}));
+		assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+		try {
+			assertEquals("product-2", singleFlight.execute("product-2", MAX_WAIT, () -> "product-2"));
+		} finally {
+			releaseLeader.countDown();
+			leader.join();
+		}
+	}
+
+	private interface Call {
+		Object run() throws Exception;
+	}
+
+	// Records the call's result, or the exception it threw, in a new slot of outcomes.
+	private static Thread start(List<AtomicReference<Object>> outcomes, Call call) {
+		AtomicReference<Object> outcome = new AtomicReference<>();
+		outcomes.add(outcome);
+		Thread thread = new Thread(() -> {
+			try {
+				outcome.set(call.run());
+			} catch (Throwable e) {
+				outcome.set(e);
+			}
+		});
+		thread.start();
+		return thread;
+	}
+
+	// A follower parks in a timed wait on the leader's future once it has joined the flight.
+	private static void awaitWaiting(Thread thread) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (thread.getState() != Thread.State.TIMED_WAITING) {
+			if (System.nanoTime() > deadline) {
+				throw new AssertionError(thread.getName() + " never started waiting");
+			}
+			Thread.onSpinWait();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void join(Thread leader, List<Thread> followers) throws InterruptedException {
+		leader.join(5_000);
+		for (Thread follower : followers) {
+			follower.join(5_000);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.qurilo.product_service.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qurilo.product_service.dto.CustomApiResponse;
+import com.qurilo.product_service.dto.ProductResponse;
+
+/**
+ * Product caches, one Redis region per kind of lookup. Each region has its own key prefix
+ * (product-service::v1::region::key), so a category or search term can never collide with a
+ * product ID, and its own TTL: long for product details, short for the lists whose
+ * contents change with stock. Other services cache products under their own namespace and
+ * learn about changes from the product events channel, never by reading these keys.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCT_DETAILS = "product-details";
+    public static final String ALL_PRODUCTS = "all-products";
+    public static final String PRODUCTS_BY_CATEGORY = "products-by-category";
+    public static final String PRODUCT_SEARCH = "product-search";
+    public static final String PRODUCTS_IN_STOCK = "products-in-stock";
+
+    // Bump when the shape of a cached value changes, so entries written by older instances
+    // are never read back as the new type.
+    public static final String KEY_VERSION = "v1";
+
+    public static final String KEY_PREFIX = "product-service::" + KEY_VERSION + "::";
+
+    // Key of the single entry in the all-products and products-in-stock regions.
+    public static final String ALL_KEY = "all";
+
+    @Value("${products.cache.details.ttl:30m}")
+    private Duration detailsTtl;
+
+    @Value("${products.cache.all.ttl:5m}")
+    private Duration allTtl;
+
+    @Value("${products.cache.category.ttl:5m}")
+    private Duration categoryTtl;
+
+    @Value("${products.cache.search.ttl:2m}")
+    private Duration searchTtl;
+
+    @Value("${products.cache.in-stock.ttl:30s}")
+    private Duration inStockTtl;
+
+    // Lists longer than this are served from the database rather than stored as one huge entry.
+    @Value("${products.cache.max-list-size:500}")
+    private int maxListSize;
+
+    @Bean
+    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+        ObjectMapper objectMapper = cacheObjectMapper();
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+                .disableCachingNullValues()
+                .computePrefixWith(cacheName -> KEY_PREFIX + cacheName + "::")
+                .serializeKeysWith(SerializationPair.fromSerializer(new StringRedisSerializer()));
+
+        // Typed per region so hits come back as the response class rather than a LinkedHashMap.
+        RedisCacheConfiguration details = defaults.entryTtl(detailsTtl).serializeValuesWith(
+                SerializationPair.fromSerializer(new Jackson2JsonRedisSerializer<>(objectMapper, ProductResponse.class)));
+        RedisCacheConfiguration lists = defaults.serializeValuesWith(SerializationPair.fromSerializer(
+                new Jackson2JsonRedisSerializer<>(objectMapper, productListResponse(objectMapper))));
+
+        // SCAN rather than KEYS when a region is cleared, so Redis isn't blocked while it runs.
+        return RedisCacheManager.builder(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory,
+                        BatchStrategies.scan(1000)))
+                .cacheDefaults(defaults)
+                .withCacheConfiguration(PRODUCT_DETAILS, details)
+                .withCacheConfiguration(ALL_PRODUCTS, lists.entryTtl(allTtl))
+                .withCacheConfiguration(PRODUCTS_BY_CATEGORY, lists.entryTtl(categoryTtl))
+                .withCacheConfiguration(PRODUCT_SEARCH, lists.entryTtl(searchTtl))
+                .withCacheConfiguration(PRODUCTS_IN_STOCK, lists.entryTtl(inStockTtl))
+                .disableCreateOnMissingCache()
+                .build();
+    }
+
+    public int getMaxListSize() {
+        return maxListSize;
+    }
+
+    // Fields only: ProductResponse's date setters take LocalDateTime but the fields are strings.
+    private static ObjectMapper cacheObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
+        objectMapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return objectMapper;
+    }
+
+    private static JavaType productListResponse(ObjectMapper objectMapper) {
+        return objectMapper.getTypeFactory().constructParametricType(CustomApiResponse.class,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, ProductResponse.class));
+    }
+}
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.qurilo.product_service.controller;
 
 import com.qurilo.product_service.dto.CustomApiResponse;
+import com.qurilo.product_service.dto.ProductBatchRequest;
 import com.qurilo.product_service.dto.ProductRequest;
 import com.qurilo.product_service.dto.ProductResponse;
+import com.qurilo.product_service.dto.StockReservationRequest;
 import com.qurilo.product_service.entity.Product;
 import com.qurilo.product_service.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -50,6 +52,25 @@ public class ProductController {
 		return ResponseEntity.ok(product);
 	}
 
+	@GetMapping("/batch")
+	@Operation(summary = "Get several products by ID", description = "Retrieves up to 200 products in one call; unknown IDs are left out of the result")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+			@ApiResponse(responseCode = "400", description = "Bad request - Invalid product IDs") })
+	public ResponseEntity<CustomApiResponse<List<ProductResponse>>> getProductsByIds(@RequestParam List<String> ids) {
+		CustomApiResponse<List<ProductResponse>> response = productService.getProductsByIds(ids);
+		return new ResponseEntity<>(response, response.getStatus());
+	}
+
+	@PostMapping("/batch")
+	@Operation(summary = "Get several products by ID", description = "Same as GET /batch, with the IDs in the request body for long ID lists")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+			@ApiResponse(responseCode = "400", description = "Bad request - Invalid product IDs") })
+	public ResponseEntity<CustomApiResponse<List<ProductResponse>>> getProductsByIds(
+			@Valid @RequestBody ProductBatchRequest request) {
+		CustomApiResponse<List<ProductResponse>> response = productService.getProductsByIds(request.getProductIds());
+		return new ResponseEntity<>(response, response.getStatus());
+	}
+
 	@GetMapping
 	@Operation(summary = "Get all products", description = "Retrieves all available products in the system")
 	@ApiResponses(value = {
@@ -109,4 +130,49 @@ public class ProductController {
 		CustomApiResponse<ProductResponse> response = productService.updateProductStock(productId, stockQuantity);
 		return new ResponseEntity<>(response, response.getStatus());
 	}
+
+	@PostMapping("/{productId}/reservations")
+	@Operation(summary = "Reserve product stock", description = "Atomically decrements the stock of a product if enough units are available and returns the remaining stock")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Product stock reserved successfully"),
+			@ApiResponse(responseCode = "400", description = "Bad request - Invalid input"),
+			@ApiResponse(responseCode = "404", description = "Product not found"),
+			@ApiResponse(responseCode = "409", description = "Insufficient stock") })
+	public ResponseEntity<CustomApiResponse<ProductResponse>> reserveProductStock(@PathVariable String productId,
+			@RequestParam Integer quantity) {
+		CustomApiResponse<ProductResponse> response = productService.reserveProductStock(productId, quantity);
+		return new ResponseEntity<>(response, response.getStatus());
+	}
+
+	@PostMapping("/{productId}/reservations/release")
+	@Operation(summary = "Release reserved product stock", description = "Returns previously reserved units to the stock of a product")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Product stock released successfully"),
+			@ApiResponse(responseCode = "400", description = "Bad request - Invalid input"),
+			@ApiResponse(responseCode = "404", description = "Product not found") })
+	public ResponseEntity<CustomApiResponse<ProductResponse>> releaseProductStock(@PathVariable String productId,
+			@RequestParam Integer quantity) {
+		CustomApiResponse<ProductResponse> response = productService.releaseProductStock(productId, quantity);
+		return new ResponseEntity<>(response, response.getStatus());
+	}
+
+	@PostMapping("/reservations")
+	@Operation(summary = "Reserve stock for several products", description = "Atomically reserves stock for all requested products; either every item is reserved or none is")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Product stock reserved successfully"),
+			@ApiResponse(responseCode = "400", description = "Bad request - Invalid input"),
+			@ApiResponse(responseCode = "404", description = "Product not found"),
+			@ApiResponse(responseCode = "409", description = "Insufficient stock") })
+	public ResponseEntity<CustomApiResponse<List<ProductResponse>>> reserveProductsStock(
+			@Valid @RequestBody StockReservationRequest request) {
+		CustomApiResponse<List<ProductResponse>> response = productService.reserveProductsStock(request.getItems());
+		return new ResponseEntity<>(response, response.getStatus());
+	}
+
+	@PostMapping("/reservations/release")
+	@Operation(summary = "Release reserved stock for several products", description = "Returns previously reserved units of several products to stock")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Product stock released successfully"),
+			@ApiResponse(responseCode = "400", description = "Bad request - Invalid input") })
+	public ResponseEntity<CustomApiResponse<List<ProductResponse>>> releaseProductsStock(
+			@Valid @RequestBody StockReservationRequest request) {
+		CustomApiResponse<List<ProductResponse>> response = productService.releaseProductsStock(request.getItems());
+		return new ResponseEntity<>(response, response.getStatus());
+	}
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.qurilo.product_service.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class ProductBatchRequest {
+
+    public static final int MAX_BATCH_SIZE = 200;
+
+    // Product IDs are UUID strings; a malformed one can't match and is simply not returned.
+    @NotEmpty(message = "At least one product ID is required")
+    @Size(max = MAX_BATCH_SIZE, message = "At most " + MAX_BATCH_SIZE + " product IDs can be requested at once")
+    private List<@NotBlank String> productIds;
+
+    public ProductBatchRequest() {}
+
+    public ProductBatchRequest(List<String> productIds) {
+        this.productIds = productIds;
+    }
+
+    public List<String> getProductIds() {
+        return productIds;
+    }
+
+    public void setProductIds(List<String> productIds) {
+        this.productIds = productIds;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductBatchRequest{" +
+                "productIds=" + productIds +
+                '}';
+    }
+}
\ No newline at end of file
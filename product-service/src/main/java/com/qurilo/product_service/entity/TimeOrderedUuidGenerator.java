@@ -0,0 +1,43 @@
+package com.qurilo.product_service.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates version 7 UUIDs: a millisecond timestamp followed by random bits. Unlike random
+ * (version 4) ids, new keys land at the right edge of the primary key index instead of
+ * splitting pages all over it, and their string form still sorts by creation time.
+ * Within one millisecond a 12-bit counter keeps ids from this instance increasing.
+ */
+public class TimeOrderedUuidGenerator implements UuidValueGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private long lastMillis;
+    private int sequence;
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        long millis;
+        int seq;
+        synchronized (this) {
+            millis = Math.max(System.currentTimeMillis(), lastMillis);
+            if (millis == lastMillis) {
+                sequence = (sequence + 1) & 0xFFF;
+                if (sequence == 0) {
+                    millis++;
+                }
+            } else {
+                sequence = 0;
+            }
+            lastMillis = millis;
+            seq = sequence;
+        }
+        long mostSigBits = (millis << 16) | 0x7000L | seq;
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
\ No newline at end of file
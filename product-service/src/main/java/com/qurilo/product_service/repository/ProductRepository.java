@@ -2,10 +2,12 @@ package com.qurilo.product_service.repository;
 
 import com.qurilo.product_service.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +28,16 @@ public interface ProductRepository extends JpaRepository<Product, String> {
     List<Product> findByProductStockQuantityGreaterThan(@Param("stockQuantity") Integer stockQuantity);
     
     boolean existsByProductName(String productName);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Product p SET p.productStockQuantity = p.productStockQuantity - :quantity, p.updatedAt = :updatedAt " +
+           "WHERE p.id = :productId AND p.productStockQuantity >= :quantity")
+    int reserveStock(@Param("productId") String productId, @Param("quantity") Integer quantity,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Product p SET p.productStockQuantity = p.productStockQuantity + :quantity, p.updatedAt = :updatedAt " +
+           "WHERE p.id = :productId")
+    int releaseStock(@Param("productId") String productId, @Param("quantity") Integer quantity,
+                     @Param("updatedAt") LocalDateTime updatedAt);
 } 
\ No newline at end of file
@@ -0,0 +1,244 @@
+package com.qurilo.product_service.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qurilo.product_service.config.CacheConfig;
+import com.qurilo.product_service.dto.ProductCacheEvent;
+import com.qurilo.product_service.dto.ProductResponse;
+
+/**
+ * Evicts only the cache entries a product change affects instead of clearing every region.
+ * Details, the full list, the in-stock list and the product's category are known from the
+ * product itself. Search results are not, so each cached search is recorded in a reverse
+ * index: one Redis set per product holding the search keys whose result contains it, plus a
+ * sorted set of all cached search terms, scored by when their entry expires, so a new
+ * product can be matched against them. Terms leave that set when their entry is evicted or
+ * once their score has passed, so it only ever holds terms that may still be cached.
+ *
+ * Evictions run after the surrounding transaction commits, so a concurrent reader can't
+ * re-cache the old rows in between. They are followed by a {@link ProductCacheEvent} on the
+ * product events channel for services that cache products themselves. Those services keep
+ * their shared Redis copies under the configured subscriber key prefixes; these are deleted
+ * here, once, so each subscriber instance only has to drop its local copy. Index sets expire
+ * with the search region, and a failed eviction or publish is only logged since the TTLs
+ * still bound how stale an entry can get.
+ */
+@Component
+public class ProductCacheInvalidator {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProductCacheInvalidator.class);
+
+	private static final String SEARCHES_BY_PRODUCT = CacheConfig.KEY_PREFIX + "index::searches-by-product::";
+	// A sorted set; named apart from the plain set used before so the two never collide.
+	private static final String SEARCH_TERMS = CacheConfig.KEY_PREFIX + "index::search-terms-by-expiry";
+	// The search region's Redis key prefix, as CacheConfig computes it, for deleting entries in bulk.
+	private static final String SEARCH_ENTRIES = CacheConfig.KEY_PREFIX + CacheConfig.PRODUCT_SEARCH + "::";
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	@Qualifier("customStringRedisTemplate")
+	private RedisTemplate<String, String> redisTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${products.cache.search.ttl:2m}")
+	private Duration searchTtl;
+
+	@Value("${products.cache.events-channel:product-service:product-events}")
+	private String eventsChannel;
+
+	@Value("${products.cache.subscriber-key-prefixes:order-service::v1::products::}")
+	private List<String> subscriberKeyPrefixes;
+
+	/**
+	 * Records which products a search result contains, before it is cached. The key is the
+	 * search region's key: the trimmed, lower-cased term.
+	 */
+	public void indexSearch(String searchKey, List<ProductResponse> products) {
+		try {
+			redisTemplate.executePipelined(new SessionCallback<Object>() {
+				@Override
+				@SuppressWarnings("unchecked")
+				public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+					RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+					long now = System.currentTimeMillis();
+					redis.opsForZSet().removeRangeByScore(SEARCH_TERMS, 0, now);
+					redis.opsForZSet().add(SEARCH_TERMS, searchKey, now + searchTtl.toMillis());
+					redis.expire(SEARCH_TERMS, searchTtl);
+					for (ProductResponse product : products) {
+						redis.opsForSet().add(SEARCHES_BY_PRODUCT + product.getId(), searchKey);
+						redis.expire(SEARCHES_BY_PRODUCT + product.getId(), searchTtl);
+					}
+					return null;
+				}
+			});
+		} catch (RuntimeException e) {
+			logger.warn("Failed to index search '{}' for cache invalidation: {}", searchKey, e.getMessage());
+		}
+	}
+
+	/**
+	 * A new product can't be in any cached entry yet, but it belongs in the full list, its
+	 * category, the in-stock list if it has stock, and every cached search it matches.
+	 */
+	public void productAdded(ProductResponse product) {
+		afterCommit(() -> {
+			evict(CacheConfig.ALL_PRODUCTS, CacheConfig.ALL_KEY);
+			evictCategory(product);
+			if (product.getProductStockQuantity() != null && product.getProductStockQuantity() > 0) {
+				evict(CacheConfig.PRODUCTS_IN_STOCK, CacheConfig.ALL_KEY);
+			}
+			String name = product.getProductName() == null ? "" : product.getProductName().toLowerCase();
+			Set<String> terms = redisTemplate.opsForZSet().rangeByScore(SEARCH_TERMS, System.currentTimeMillis(),
+					Double.POSITIVE_INFINITY);
+			if (terms != null) {
+				evictSearches(terms.stream().filter(name::contains).toList(), List.of());
+			}
+			publish(new ProductCacheEvent(ProductCacheEvent.PRODUCT_ADDED, List.of(product.getId())));
+		});
+	}
+
+	/**
+	 * The products' stock changed: evict their details, the lists that show stock, their
+	 * categories and the searches recorded as containing them.
+	 */
+	public void productsChanged(List<ProductResponse> products) {
+		if (products.isEmpty()) {
+			return;
+		}
+		afterCommit(() -> {
+			evict(CacheConfig.ALL_PRODUCTS, CacheConfig.ALL_KEY);
+			evict(CacheConfig.PRODUCTS_IN_STOCK, CacheConfig.ALL_KEY);
+			Set<String> categories = new LinkedHashSet<>();
+			List<String> indexKeys = new ArrayList<>();
+			for (ProductResponse product : products) {
+				evict(CacheConfig.PRODUCT_DETAILS, product.getId());
+				if (categories.add(String.valueOf(product.getProductCategory()))) {
+					evictCategory(product);
+				}
+				indexKeys.add(SEARCHES_BY_PRODUCT + product.getId());
+			}
+			Set<String> searchKeys = new LinkedHashSet<>();
+			List<Object> indexedSearches = redisTemplate.executePipelined(new SessionCallback<Object>() {
+				@Override
+				@SuppressWarnings("unchecked")
+				public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+					RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+					indexKeys.forEach(indexKey -> redis.opsForSet().members(indexKey));
+					return null;
+				}
+			});
+			for (Object searches : indexedSearches) {
+				if (searches instanceof Set<?> set) {
+					set.forEach(searchKey -> searchKeys.add((String) searchKey));
+				}
+			}
+			evictSearches(searchKeys, indexKeys);
+			publish(new ProductCacheEvent(ProductCacheEvent.PRODUCT_CHANGED,
+					products.stream().map(ProductResponse::getId).toList()));
+		});
+	}
+
+	private void publish(ProductCacheEvent event) {
+		List<String> subscriberKeys = new ArrayList<>();
+		for (String prefix : subscriberKeyPrefixes) {
+			event.getProductIds().forEach(productId -> subscriberKeys.add(prefix + productId));
+		}
+		try {
+			if (!subscriberKeys.isEmpty()) {
+				redisTemplate.delete(subscriberKeys);
+			}
+		} catch (RuntimeException e) {
+			logger.warn("Failed to delete subscriber copies of products {}: {}", event.getProductIds(), e.getMessage());
+		}
+		try {
+			redisTemplate.convertAndSend(eventsChannel, objectMapper.writeValueAsString(event));
+		} catch (JsonProcessingException | RuntimeException e) {
+			logger.warn("Failed to publish {} for products {}: {}", event.getType(), event.getProductIds(),
+					e.getMessage());
+		}
+	}
+
+	private void evictCategory(ProductResponse product) {
+		if (product.getProductCategory() != null) {
+			evict(CacheConfig.PRODUCTS_BY_CATEGORY, product.getProductCategory().trim());
+		}
+	}
+
+	/**
+	 * Deletes the cached searches, drops their terms from the term index and deletes the given
+	 * index sets, all in one pipelined round trip instead of two per search. This runs on the
+	 * request thread right after commit, and a popular product can sit in many searches.
+	 */
+	private void evictSearches(Collection<String> searchKeys, Collection<String> indexKeys) {
+		if (searchKeys.isEmpty() && indexKeys.isEmpty()) {
+			return;
+		}
+		List<String> keys = new ArrayList<>(indexKeys);
+		searchKeys.forEach(searchKey -> keys.add(SEARCH_ENTRIES + searchKey));
+		redisTemplate.executePipelined(new SessionCallback<Object>() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+				RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+				redis.delete(keys);
+				if (!searchKeys.isEmpty()) {
+					redis.opsForZSet().remove(SEARCH_TERMS, searchKeys.toArray());
+				}
+				return null;
+			}
+		});
+	}
+
+	private void evict(String cacheName, String key) {
+		Cache cache = cacheManager.getCache(cacheName);
+		if (cache != null) {
+			cache.evict(key);
+		}
+	}
+
+	private void afterCommit(Runnable eviction) {
+		Runnable guarded = () -> {
+			try {
+				eviction.run();
+			} catch (RuntimeException e) {
+				logger.warn("Product cache invalidation failed, entries will expire by TTL: {}", e.getMessage());
+			}
+		};
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					guarded.run();
+				}
+			});
+		} else {
+			guarded.run();
+		}
+	}
+}
\ No newline at end of file
@@ -1,21 +1,29 @@
 package com.qurilo.product_service.service;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.util.StringUtils;
 
+import com.qurilo.product_service.config.CacheConfig;
 import com.qurilo.product_service.dto.CustomApiResponse;
+import com.qurilo.product_service.dto.ProductBatchRequest;
 import com.qurilo.product_service.dto.ProductRequest;
 import com.qurilo.product_service.dto.ProductResponse;
+import com.qurilo.product_service.dto.StockReservationRequest;
 import com.qurilo.product_service.entity.Product;
 import com.qurilo.product_service.exceptions.InvalidInputException;
 import com.qurilo.product_service.exceptions.ProductNotFoundException;
@@ -31,7 +39,9 @@ public class ProductService {
 	@Autowired
 	private ProductRepository productRepository;
 
-	@CacheEvict(value = "products", allEntries = true)
+	@Autowired
+	private ProductCacheInvalidator cacheInvalidator;
+
 	public CustomApiResponse<ProductResponse> addProduct(ProductRequest request) {
 		try {
 
@@ -50,6 +60,7 @@ public class ProductService {
 			Product savedProduct = productRepository.save(product);
 
 			ProductResponse response = ProductResponse.fromProduct(savedProduct);
+			cacheInvalidator.productAdded(response);
 			return CustomApiResponse.created("Product added successfully", response);
 
 		} catch (Exception e) {
@@ -57,7 +68,8 @@ public class ProductService {
 		}
 	}
 
-	@Cacheable(value = "products", key = "#productId", unless = "#result == null")
+	@Cacheable(value = CacheConfig.PRODUCT_DETAILS, key = "#productId.trim()", condition = "#productId != null",
+			unless = "#result == null")
 	public ProductResponse getProductById(String productId) {
 		if (!StringUtils.hasText(productId)) {
 			logger.warn("Invalid product ID provided: {}", productId);
@@ -84,6 +96,38 @@ public class ProductService {
 		}
 	}
 
+	/**
+	 * Backs order-service's batched product lookups. IDs are trimmed and de-duplicated before
+	 * the size cap applies, since a batch often repeats the same popular product; one blank
+	 * ID rejects the whole batch, while an ID that matches no product is just absent.
+	 */
+	@Transactional(readOnly = true)
+	public CustomApiResponse<List<ProductResponse>> getProductsByIds(List<String> productIds) {
+		Set<String> distinctIds = new LinkedHashSet<>();
+		for (String productId : productIds) {
+			if (!StringUtils.hasText(productId)) {
+				return CustomApiResponse.error("Product IDs must not be null or empty", HttpStatus.BAD_REQUEST);
+			}
+			distinctIds.add(productId.trim());
+		}
+		if (distinctIds.size() > ProductBatchRequest.MAX_BATCH_SIZE) {
+			return CustomApiResponse.error(
+					"At most " + ProductBatchRequest.MAX_BATCH_SIZE + " product IDs can be requested at once",
+					HttpStatus.BAD_REQUEST);
+		}
+
+		try {
+			List<ProductResponse> responses = productRepository.findAllById(distinctIds).stream()
+					.map(ProductResponse::fromProduct).toList();
+			logger.debug("Found {} of {} requested products", responses.size(), distinctIds.size());
+			return CustomApiResponse.ok("Products retrieved successfully", responses);
+		} catch (Exception e) {
+			logger.error("Error fetching products by IDs: {}", distinctIds, e);
+			return CustomApiResponse.error("Failed to get products: " + e.getMessage(),
+					HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
 	public Boolean checkProductStock(String productId, Integer requiredQuantity) {
 		if (!StringUtils.hasText(productId)) {
 			logger.warn("Invalid product ID provided: {}", productId);
@@ -112,7 +156,8 @@ public class ProductService {
 		}
 	}
 
-	@Cacheable(value = "products", key = "'all'")
+	@Cacheable(value = CacheConfig.ALL_PRODUCTS, key = "'" + CacheConfig.ALL_KEY + "'",
+			unless = "!#result.success || #result.data.size() > @cacheConfig.maxListSize")
 	public CustomApiResponse<List<ProductResponse>> getAllProducts() {
 		try {
 			List<Product> products = productRepository.findAll();
@@ -127,7 +172,8 @@ public class ProductService {
 		}
 	}
 
-	@Cacheable(value = "products", key = "#category")
+	@Cacheable(value = CacheConfig.PRODUCTS_BY_CATEGORY, key = "#category.trim()", condition = "#category != null",
+			unless = "!#result.success || #result.data.size() > @cacheConfig.maxListSize")
 	public CustomApiResponse<List<ProductResponse>> getProductsByCategory(String category) {
 		try {
 			if (category == null || category.trim().isEmpty()) {
@@ -147,7 +193,9 @@ public class ProductService {
 		}
 	}
 
-	@Cacheable(value = "products", key = "#name")
+	// Keyed on the lower-cased term since the search ignores case.
+	@Cacheable(value = CacheConfig.PRODUCT_SEARCH, key = "#name.trim().toLowerCase()", condition = "#name != null",
+			unless = "!#result.success || #result.data.size() > @cacheConfig.maxListSize")
 	public CustomApiResponse<List<ProductResponse>> searchProductsByName(String name) {
 		try {
 			if (name == null || name.trim().isEmpty()) {
@@ -156,10 +204,12 @@ public class ProductService {
 			}
 
 			List<Product> products = productRepository.findByProductNameContainingIgnoreCase(name.trim());
-			if (products.isEmpty()) {
+			List<ProductResponse> responses = products.stream().map(ProductResponse::fromProduct).toList();
+			// Indexed even when empty, so a product added later that matches evicts the result.
+			cacheInvalidator.indexSearch(name.trim().toLowerCase(), responses);
+			if (responses.isEmpty()) {
 				return CustomApiResponse.ok("No products found with name: " + name, List.of());
 			}
-			List<ProductResponse> responses = products.stream().map(ProductResponse::fromProduct).toList();
 			return CustomApiResponse.ok("Products retrieved successfully", responses);
 		} catch (Exception e) {
 			return new CustomApiResponse<>(false, "Failed to search products by name: " + e.getMessage(), List.of(),
@@ -167,7 +217,8 @@ public class ProductService {
 		}
 	}
 
-	@Cacheable(value = "products", key = "'inStock'")
+	@Cacheable(value = CacheConfig.PRODUCTS_IN_STOCK, key = "'" + CacheConfig.ALL_KEY + "'",
+			unless = "!#result.success || #result.data.size() > @cacheConfig.maxListSize")
 	public CustomApiResponse<List<ProductResponse>> getProductsInStock() {
 		try {
 			List<Product> products = productRepository.findByProductStockQuantityGreaterThan(0);
@@ -182,7 +233,6 @@ public class ProductService {
 		}
 	}
 
-	@CacheEvict(value = "products", allEntries = true)
 	public CustomApiResponse<ProductResponse> updateProductStock(String productId, Integer newStockQuantity) {
 		try {
 			if (productId == null || productId.trim().isEmpty()) {
@@ -199,6 +249,7 @@ public class ProductService {
 				product.setProductStockQuantity(newStockQuantity);
 				Product updatedProduct = productRepository.save(product);
 				ProductResponse response = ProductResponse.fromProduct(updatedProduct);
+				cacheInvalidator.productsChanged(List.of(response));
 				return CustomApiResponse.ok("Product stock updated successfully", response);
 			} else {
 				return CustomApiResponse.notFound("Product not found with ID: " + productId);
@@ -207,4 +258,159 @@ public class ProductService {
 			return CustomApiResponse.internalError("Failed to update product stock: " + e.getMessage());
 		}
 	}
+
+	/**
+	 * Atomically decrements the stock of a product if, and only if, enough units are
+	 * available. The check and the decrement happen in a single conditional UPDATE so
+	 * concurrent reservations for the same product can never oversell it.
+	 */
+	public CustomApiResponse<ProductResponse> reserveProductStock(String productId, Integer quantity) {
+		try {
+			if (productId == null || productId.trim().isEmpty()) {
+				return CustomApiResponse.badRequest("Product ID cannot be null or empty");
+			}
+
+			if (quantity == null || quantity <= 0) {
+				return CustomApiResponse.badRequest("Quantity must be greater than 0");
+			}
+
+			final String trimmedProductId = productId.trim();
+			int updatedRows = productRepository.reserveStock(trimmedProductId, quantity, LocalDateTime.now());
+			if (updatedRows == 0) {
+				if (!productRepository.existsById(trimmedProductId)) {
+					return CustomApiResponse.notFound("Product not found with ID: " + trimmedProductId);
+				}
+				logger.warn("Insufficient stock to reserve {} units of product: {}", quantity, trimmedProductId);
+				return CustomApiResponse.conflict("Insufficient stock for product: " + trimmedProductId);
+			}
+
+			Product product = productRepository.findById(trimmedProductId)
+					.orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + trimmedProductId));
+			logger.info("Reserved {} units of product: {}, remaining stock: {}", quantity, trimmedProductId,
+					product.getProductStockQuantity());
+			ProductResponse response = ProductResponse.fromProduct(product);
+			cacheInvalidator.productsChanged(List.of(response));
+			return CustomApiResponse.ok("Product stock reserved successfully", response);
+		} catch (Exception e) {
+			// The decrement may already have run; it must not commit behind an error response.
+			TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+			logger.error("Failed to reserve stock for product: {}", productId, e);
+			return CustomApiResponse.internalError("Failed to reserve product stock: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns previously reserved units to the stock of a product. Used by callers to
+	 * compensate a reservation whose order could not be completed.
+	 */
+	public CustomApiResponse<ProductResponse> releaseProductStock(String productId, Integer quantity) {
+		try {
+			if (productId == null || productId.trim().isEmpty()) {
+				return CustomApiResponse.badRequest("Product ID cannot be null or empty");
+			}
+
+			if (quantity == null || quantity <= 0) {
+				return CustomApiResponse.badRequest("Quantity must be greater than 0");
+			}
+
+			final String trimmedProductId = productId.trim();
+			int updatedRows = productRepository.releaseStock(trimmedProductId, quantity, LocalDateTime.now());
+			if (updatedRows == 0) {
+				return CustomApiResponse.notFound("Product not found with ID: " + trimmedProductId);
+			}
+
+			Product product = productRepository.findById(trimmedProductId)
+					.orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + trimmedProductId));
+			logger.info("Released {} units of product: {}, remaining stock: {}", quantity, trimmedProductId,
+					product.getProductStockQuantity());
+			ProductResponse response = ProductResponse.fromProduct(product);
+			cacheInvalidator.productsChanged(List.of(response));
+			return CustomApiResponse.ok("Product stock released successfully", response);
+		} catch (Exception e) {
+			logger.error("Failed to release stock for product: {}", productId, e);
+			return CustomApiResponse.internalError("Failed to release product stock: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Reserves stock for several products in one all-or-nothing transaction. Quantities for
+	 * repeated product IDs are summed, and rows are updated in product ID order so that
+	 * concurrent multi-product reservations can't deadlock on each other.
+	 */
+	public CustomApiResponse<List<ProductResponse>> reserveProductsStock(List<StockReservationRequest.Item> items) {
+		try {
+			Map<String, Integer> quantities = sumQuantitiesByProduct(items);
+			if (quantities == null) {
+				return CustomApiResponse.error("Every item needs a product ID and a quantity greater than 0",
+						HttpStatus.BAD_REQUEST);
+			}
+
+			LocalDateTime now = LocalDateTime.now();
+			for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+				if (productRepository.reserveStock(entry.getKey(), entry.getValue(), now) == 0) {
+					TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+					if (!productRepository.existsById(entry.getKey())) {
+						return CustomApiResponse.error("Product not found with ID: " + entry.getKey(),
+								HttpStatus.NOT_FOUND);
+					}
+					logger.warn("Insufficient stock to reserve {} units of product: {}", entry.getValue(),
+							entry.getKey());
+					return CustomApiResponse.error("Insufficient stock for product: " + entry.getKey(),
+							HttpStatus.CONFLICT);
+				}
+			}
+
+			List<ProductResponse> responses = productRepository.findAllById(quantities.keySet()).stream()
+					.map(ProductResponse::fromProduct).toList();
+			logger.info("Reserved stock for {} products", responses.size());
+			cacheInvalidator.productsChanged(responses);
+			return CustomApiResponse.ok("Product stock reserved successfully", responses);
+		} catch (Exception e) {
+			TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+			logger.error("Failed to reserve stock for {} products", items == null ? 0 : items.size(), e);
+			return CustomApiResponse.error("Failed to reserve product stock: " + e.getMessage(),
+					HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	public CustomApiResponse<List<ProductResponse>> releaseProductsStock(List<StockReservationRequest.Item> items) {
+		try {
+			Map<String, Integer> quantities = sumQuantitiesByProduct(items);
+			if (quantities == null) {
+				return CustomApiResponse.error("Every item needs a product ID and a quantity greater than 0",
+						HttpStatus.BAD_REQUEST);
+			}
+
+			LocalDateTime now = LocalDateTime.now();
+			for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+				if (productRepository.releaseStock(entry.getKey(), entry.getValue(), now) == 0) {
+					logger.warn("Cannot release stock of unknown product: {}", entry.getKey());
+				}
+			}
+
+			List<ProductResponse> responses = productRepository.findAllById(quantities.keySet()).stream()
+					.map(ProductResponse::fromProduct).toList();
+			logger.info("Released stock for {} products", responses.size());
+			cacheInvalidator.productsChanged(responses);
+			return CustomApiResponse.ok("Product stock released successfully", responses);
+		} catch (Exception e) {
+			logger.error("Failed to release stock for {} products", items == null ? 0 : items.size(), e);
+			return CustomApiResponse.error("Failed to release product stock: " + e.getMessage(),
+					HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	private Map<String, Integer> sumQuantitiesByProduct(List<StockReservationRequest.Item> items) {
+		if (items == null || items.isEmpty()) {
+			return null;
+		}
+		Map<String, Integer> quantities = new TreeMap<>();
+		for (StockReservationRequest.Item item : items) {
+			if (!StringUtils.hasText(item.getProductId()) || item.getQuantity() == null || item.getQuantity() <= 0) {
+				return null;
+			}
+			quantities.merge(item.getProductId().trim(), item.getQuantity(), Integer::sum);
+		}
+		return quantities;
+	}
 }
\ No newline at end of file